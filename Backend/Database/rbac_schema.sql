@@ -11,7 +11,8 @@ CREATE TABLE users (
     password VARCHAR(255) NOT NULL,
     enabled BOOLEAN DEFAULT TRUE,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    revision BIGINT DEFAULT 0
 );
 
 -- Roles table
@@ -58,7 +59,42 @@ CREATE TABLE configurations (
     config_type VARCHAR(50) DEFAULT 'STRING',
     description TEXT,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    revision BIGINT DEFAULT 0
+);
+
+-- Revoked tokens (logout denylist, rows are pruned once expired)
+CREATE TABLE revoked_tokens (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    jti VARCHAR(64) UNIQUE NOT NULL,
+    username VARCHAR(50),
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_revoked_tokens_expires_at (expires_at)
+);
+
+-- Per-department salary aggregates, maintained with every employee write ('' = no department)
+CREATE TABLE department_stats (
+    department VARCHAR(255) PRIMARY KEY,
+    headcount BIGINT NOT NULL,
+    salary_count BIGINT NOT NULL,
+    salary_sum DOUBLE NOT NULL,
+    salary_min DOUBLE,
+    salary_max DOUBLE,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Write counters of the collections served with conditional GETs, bumped by every write
+CREATE TABLE table_versions (
+    table_name VARCHAR(64) PRIMARY KEY,
+    version BIGINT NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Pooled id blocks for tables inserted in JDBC batches (value = next free id)
+CREATE TABLE id_generators (
+    gen_name VARCHAR(64) PRIMARY KEY,
+    gen_value BIGINT NOT NULL
 );
 
 --insert values
@@ -0,0 +1,60 @@
+package com.dev.rbac.benchmark;
+
+import com.dev.rbac.model.User;
+import com.dev.rbac.security.PermissionBits;
+import com.dev.rbac.security.PermissionIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authority build for a loaded user: the entity's streaming
+ * {@code User.getAuthorities()} against the bitset path of
+ * {@code UserService.loadUserByUsername} ({@code PermissionIndex.compile}
+ * plus the interned authority set), over 1/10/100 roles and up to 1000
+ * distinct permissions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class AuthoritiesBenchmark {
+
+    @Param({"1", "10", "100"})
+    int roles;
+
+    @Param({"10", "100", "1000"})
+    int permissions;
+
+    private User user;
+    private PermissionIndex permissionIndex;
+    private PermissionBits bits;
+
+    @Setup
+    public void setup() {
+        user = Fixtures.user(roles, permissions);
+        permissionIndex = new PermissionIndex();
+        bits = permissionIndex.compile(user);
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> userGetAuthorities() {
+        return user.getAuthorities();
+    }
+
+    @Benchmark
+    public Set<GrantedAuthority> permissionIndexAuthorities() {
+        return permissionIndex.authorities(permissionIndex.compile(user));
+    }
+
+    // per-check cost once the snapshot exists, what @PreAuthorize pays
+    @Benchmark
+    public boolean hasAuthorityBitTest() {
+        return bits.has(permissionIndex.indexOf("RESOURCE000_READ"));
+    }
+}
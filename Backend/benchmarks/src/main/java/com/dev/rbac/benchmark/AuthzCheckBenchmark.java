@@ -0,0 +1,78 @@
+package com.dev.rbac.benchmark;
+
+import com.dev.rbac.dto.AuthzCheck;
+import com.dev.rbac.dto.AuthzDecision;
+import com.dev.rbac.model.User;
+import com.dev.rbac.security.AuthoritySnapshotCache;
+import com.dev.rbac.security.AuthorizedUser;
+import com.dev.rbac.security.PermissionBits;
+import com.dev.rbac.security.PermissionIndex;
+import com.dev.rbac.security.SecurityMetrics;
+import com.dev.rbac.security.UserDetailsBatchLoader;
+import com.dev.rbac.service.AuthorizationCheckService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * One {@code POST /api/authz/check} batch of 100 checks through
+ * {@link AuthorizationCheckService}, without the HTTP and JSON layers.
+ * Every subject resolves to a stub user with 10 roles and 100 permissions.
+ * Half the checks name a held permission and half an unknown one. The
+ * snapshot cache is warm, as it is for subjects that recently sent requests.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class AuthzCheckBenchmark {
+
+    private static final int BATCH = 100;
+
+    // distinct subjects in the batch
+    @Param({"1", "10", "100"})
+    int subjects;
+
+    private AuthorizationCheckService service;
+    private List<AuthzCheck> checks;
+
+    @Setup
+    public void setup() {
+        PermissionIndex permissionIndex = new PermissionIndex();
+        User user = Fixtures.user(10, 100);
+        PermissionBits bits = permissionIndex.compile(user);
+        Function<String, UserDetails> principal = username ->
+                new AuthorizedUser(username, "", true, permissionIndex.authorities(bits), bits);
+        UserDetailsService userDetailsService = principal::apply;
+        UserDetailsBatchLoader batchLoader = usernames -> usernames.stream().map(principal).toList();
+
+        service = new AuthorizationCheckService(
+                new AuthoritySnapshotCache(userDetailsService, permissionIndex, 10_000, 5_000),
+                batchLoader,
+                permissionIndex,
+                new SecurityMetrics(new SimpleMeterRegistry()),
+                BATCH
+        );
+
+        List<String> held = Fixtures.permissionNames(100);
+        checks = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            String permission = i % 2 == 0 ? held.get(i) : "UNKNOWN_" + i;
+            checks.add(new AuthzCheck("subject" + (i % subjects), permission, "resource/" + i));
+        }
+        service.check(checks);
+    }
+
+    @Benchmark
+    public List<AuthzDecision> check() {
+        return service.check(checks);
+    }
+}
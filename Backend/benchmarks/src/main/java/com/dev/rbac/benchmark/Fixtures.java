@@ -0,0 +1,74 @@
+package com.dev.rbac.benchmark;
+
+import com.dev.rbac.model.Permission;
+import com.dev.rbac.model.Role;
+import com.dev.rbac.model.User;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Deterministic in-memory users for the benchmarks, no randomness so every
+ * run measures the same object graph.
+ */
+final class Fixtures {
+
+    static final String SECRET = "ThisIsAVeryStrongSecretKeyForJwtToken123456";
+    static final long EXPIRATION_MS = 86_400_000L;
+    static final String USERNAME = "bench-user";
+
+    private Fixtures() {
+    }
+
+    /**
+     * User with {@code roleCount} roles sharing {@code permissionCount}
+     * distinct permissions round-robin; every role gets at least one.
+     */
+    static User user(int roleCount, int permissionCount) {
+        List<Role> roles = new ArrayList<>(roleCount);
+        for (int r = 0; r < roleCount; r++) {
+            Role role = new Role();
+            role.setId((long) r + 1);
+            role.setName("ROLE" + r);
+            role.setPermissions(new HashSet<>());
+            roles.add(role);
+        }
+
+        List<Permission> permissions = permissions(permissionCount);
+        for (int i = 0; i < Math.max(roleCount, permissionCount); i++) {
+            roles.get(i % roleCount).getPermissions().add(permissions.get(i % permissionCount));
+        }
+
+        User user = new User();
+        user.setId(1L);
+        user.setUsername(USERNAME);
+        user.setEmail(USERNAME + "@example.com");
+        user.setPassword("");
+        user.setRoles(new HashSet<>(roles));
+        return user;
+    }
+
+    static List<String> permissionNames(int count) {
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(permissionName(i));
+        }
+        return names;
+    }
+
+    private static List<Permission> permissions(int count) {
+        List<Permission> permissions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Permission permission = new Permission();
+            permission.setId((long) i + 1);
+            permission.setName(permissionName(i));
+            permissions.add(permission);
+        }
+        return permissions;
+    }
+
+    private static String permissionName(int i) {
+        return String.format("RESOURCE%03d_READ", i);
+    }
+}
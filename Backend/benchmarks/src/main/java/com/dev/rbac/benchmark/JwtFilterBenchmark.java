@@ -0,0 +1,92 @@
+package com.dev.rbac.benchmark;
+
+import com.dev.rbac.model.User;
+import com.dev.rbac.security.AuthoritySnapshotCache;
+import com.dev.rbac.security.AuthorizationEpochs;
+import com.dev.rbac.security.AuthorizedUser;
+import com.dev.rbac.security.JwtAuthenticationFilter;
+import com.dev.rbac.security.JwtService;
+import com.dev.rbac.security.PermissionBits;
+import com.dev.rbac.security.PermissionIndex;
+import com.dev.rbac.security.SecurityMetrics;
+import com.dev.rbac.security.TokenRevocationService;
+import com.dev.rbac.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One authenticated request through {@link JwtAuthenticationFilter}:
+ * header parse, JWT verify, revocation check, user load and authority
+ * build. The {@link UserDetailsService} is a stub returning a prebuilt
+ * user with 10 roles and 100 permissions, so after the first call the
+ * snapshot cache answers and no database is involved.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JwtFilterBenchmark {
+
+    // jwt.stateless
+    @Param({"false", "true"})
+    boolean stateless;
+
+    // jwt.cache.enabled
+    @Param({"false", "true"})
+    boolean tokenCache;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private final FilterChain chain = (req, res) -> {};
+
+    @Setup
+    public void setup() throws Exception {
+        PermissionIndex permissionIndex = new PermissionIndex();
+        User user = Fixtures.user(10, 100);
+        PermissionBits bits = permissionIndex.compile(user);
+        AuthorizedUser principal = new AuthorizedUser(
+                user.getUsername(), "", true, permissionIndex.authorities(bits), bits);
+        UserDetailsService userDetailsService = username -> principal;
+
+        JwtService jwtService = new JwtService(Fixtures.SECRET, Fixtures.EXPIRATION_MS);
+        AuthorizationEpochs epochs = new AuthorizationEpochs();
+        // nothing is revoked, the empty bloom filter answers without the repository
+        TokenRevocationService revocation = new TokenRevocationService(null, 100_000, 0.01);
+
+        filter = new JwtAuthenticationFilter(
+                jwtService,
+                new VerifiedTokenCache(jwtService, tokenCache, 50_000),
+                new AuthoritySnapshotCache(userDetailsService, permissionIndex, 10_000, 5_000),
+                epochs,
+                revocation,
+                new SecurityMetrics(new SimpleMeterRegistry()),
+                stateless
+        );
+
+        String token = jwtService.generateToken(
+                user.getUsername(), List.of("ROLE0"), Fixtures.permissionNames(100), epochs.current(user.getUsername()));
+        request = new MockHttpServletRequest("GET", "/api/users");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication doFilter() throws Exception {
+        filter.doFilter(request, response, chain);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
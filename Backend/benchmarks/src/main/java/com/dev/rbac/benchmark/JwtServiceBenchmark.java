@@ -0,0 +1,82 @@
+package com.dev.rbac.benchmark;
+
+import com.dev.rbac.security.JwtService;
+import com.dev.rbac.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Token issue and the three per-request checks, for tokens carrying 5 or 50
+ * permission claims. legacyValidate is the filter path before the
+ * single-parse pipeline, kept as the reference point for verify.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    @Param({"5", "50"})
+    int permissions;
+
+    private JwtService jwtService;
+    private List<String> permissionNames;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtService = new JwtService(Fixtures.SECRET, Fixtures.EXPIRATION_MS);
+        permissionNames = Fixtures.permissionNames(permissions);
+        userDetails = User.withUsername(Fixtures.USERNAME).password("").authorities(List.of()).build();
+        token = jwtService.generateToken(Fixtures.USERNAME, List.of("ADMIN"), permissionNames, 0L);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(Fixtures.USERNAME, List.of("ADMIN"), permissionNames, 0L);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtService.validateToken(token, userDetails);
+    }
+
+    // single parse used by the filter, extractUsername + validateToken in one
+    @Benchmark
+    public VerifiedToken verify() {
+        return jwtService.verify(token);
+    }
+
+    // extractUsername then validateToken, three parses that each rebuild the key and the parser
+    @Benchmark
+    public boolean legacyValidate() {
+        String username = legacyClaims(token).getSubject();
+        return username.equals(legacyClaims(token).getSubject())
+                && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    private static Claims legacyClaims(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Fixtures.SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -0,0 +1,55 @@
+package com.dev.rbac.config;
+
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Keeps the {@code id_generators} rows ahead of the ids already present in
+ * their tables. Needed once when a table moves from AUTO_INCREMENT to the
+ * pooled table generator, and harmless afterwards. Runs before the
+ * CommandLineRunners so no insert can draw a stale block.
+ */
+@Component
+public class IdGeneratorAligner {
+
+    // generator row -> table it hands out ids for
+    private static final Map<String, String> GENERATORS = Map.of(
+            "employees", "employees",
+            "users", "users"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdGeneratorAligner(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void align() {
+        GENERATORS.forEach((generator, table) -> {
+            Integer rows = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM id_generators WHERE gen_name = ?", Integer.class, generator);
+
+            if (rows == null || rows == 0) {
+                try {
+                    jdbcTemplate.update(
+                            "INSERT INTO id_generators (gen_name, gen_value) " +
+                            "SELECT ?, COALESCE(MAX(id), 0) + 1 FROM " + table,
+                            generator);
+                } catch (DuplicateKeyException e) {
+                    // another instance seeded it first, the update below still applies
+                }
+            }
+
+            jdbcTemplate.update(
+                    "UPDATE id_generators SET gen_value = (SELECT COALESCE(MAX(id), 0) + 1 FROM " + table + ") " +
+                    "WHERE gen_name = ? AND gen_value <= (SELECT COALESCE(MAX(id), 0) FROM " + table + ")",
+                    generator);
+        });
+    }
+}
@@ -0,0 +1,109 @@
+package com.dev.rbac.config;
+
+import com.dev.rbac.model.Role;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Component;
+
+import javax.cache.CacheManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Eviction and statistics for the Hibernate second-level cache. Writes made
+ * through Hibernate keep the regions current on their own, only changes the
+ * database makes behind Hibernate's back (ON DELETE CASCADE) need an
+ * explicit eviction here.
+ *
+ * Hit, miss and put counts come from the JCache statistics of each region,
+ * bound to Micrometer as cache.gets / cache.puts, so they stay available
+ * with Hibernate's session statistics switched off.
+ */
+@Component
+public class SecondLevelCache {
+
+    public static final String ROLE_PERMISSIONS = Role.class.getName() + ".permissions";
+
+    private static final String QUERY_RESULTS = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    private static final String UPDATE_TIMESTAMPS = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final MeterRegistry registry;
+    private final List<String> regions;
+
+    public SecondLevelCache(EntityManagerFactory entityManagerFactory, MeterRegistry registry) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.registry = registry;
+
+        // every region exists once the session factory is built
+        CacheManager cacheManager = ((JCacheRegionFactory) sessionFactory.getCache().getRegionFactory()).getCacheManager();
+        this.regions = new ArrayList<>();
+        for (String region : cacheManager.getCacheNames()) {
+            cacheManager.enableStatistics(region, true);
+            JCacheMetrics.monitor(registry, cacheManager.getCache(region));
+            regions.add(region);
+        }
+    }
+
+    // role_permissions rows of a deleted permission are removed by the FK cascade
+    public void evictRolePermissions() {
+        sessionFactory.getCache().evictCollectionData(ROLE_PERMISSIONS);
+    }
+
+    public void evictAll() {
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    /* Stats */
+
+    public Stats stats() {
+        Map<String, RegionStats> byRegion = new TreeMap<>();
+        long hits = 0;
+        long misses = 0;
+        long puts = 0;
+        for (String region : regions) {
+            RegionStats stats = new RegionStats(
+                    count(region, "cache.gets", "hit"),
+                    count(region, "cache.gets", "miss"),
+                    count(region, "cache.puts", null)
+            );
+            byRegion.put(region, stats);
+            if (!region.equals(QUERY_RESULTS) && !region.equals(UPDATE_TIMESTAMPS)) {
+                hits += stats.hits();
+                misses += stats.misses();
+                puts += stats.puts();
+            }
+        }
+
+        RegionStats queries = byRegion.getOrDefault(QUERY_RESULTS, new RegionStats(0, 0, 0));
+        return new Stats(hits, misses, puts, queries.hits(), queries.misses(), queries.puts(), byRegion);
+    }
+
+    private long count(String region, String name, String result) {
+        var search = registry.find(name).tag("cache", region);
+        if (result != null) {
+            search = search.tag("result", result);
+        }
+        FunctionCounter counter = search.functionCounter();
+        return counter == null ? 0 : (long) counter.count();
+    }
+
+    public record Stats(
+            long hits,
+            long misses,
+            long puts,
+            long queryHits,
+            long queryMisses,
+            long queryPuts,
+            Map<String, RegionStats> regions
+    ) {}
+
+    public record RegionStats(long hits, long misses, long puts) {}
+}
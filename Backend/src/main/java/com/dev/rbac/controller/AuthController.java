@@ -1,71 +1,107 @@
 package com.dev.rbac.controller;
 
 import com.dev.rbac.model.User;
+import com.dev.rbac.security.AuthorizationEpochs;
 import com.dev.rbac.security.JwtService;
+import com.dev.rbac.security.LoginPrincipal;
+import com.dev.rbac.security.SecurityMetrics;
+import com.dev.rbac.security.SecurityMetrics.LoginStage;
+import com.dev.rbac.security.TokenRevocationService;
+import com.dev.rbac.security.VerifiedToken;
+import com.dev.rbac.security.VerifiedTokenCache;
 import com.dev.rbac.service.UserService;
+import io.jsonwebtoken.JwtException;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 public class AuthController {
 
-    private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
     private final UserService userService;
+    private final AuthorizationEpochs authorizationEpochs;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final SecurityMetrics securityMetrics;
 
     //Login verification
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginRequest request) {
 
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getUsername(),
-                        request.getPassword()
-                )
-        );
+        // Read before loading roles, see JwtService.generateToken
+        long epoch = authorizationEpochs.current(request.getUsername());
+
+        // Password check and token claims share a single user query, the
+        // request thread is released while the hash is verified; the token is
+        // built on the executor that completes authenticate(), never the hashing pool
+        return userService.authenticate(request.getUsername(), request.getPassword())
+                .thenApply(principal -> loginResponse(principal, epoch));
+    }
 
-    /* FETCH ALL USERS  */
-        User user = userService.findByUsername(request.getUsername());
+    private ResponseEntity<?> loginResponse(LoginPrincipal principal, long epoch) {
 
-        String role = user.getRoles()
-                .stream()
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Role not found"))
-                .getName();
+        List<String> roles = principal.roles();
+        if (roles.isEmpty()) {
+            throw new RuntimeException("Role not found");
+        }
 
-        List<String> permissions = userService.getPermissionsByUsername(user.getUsername());
+        List<String> permissions = principal.permissions();
 
     // Generate JWT token
+        long start = System.nanoTime();
         String token = jwtService.generateToken(
-                user.getUsername(),
-                role,
-                permissions
+                principal.username(),
+                roles,
+                permissions,
+                epoch
         );
-        
-        System.out.println("The Token is : "+token);
+        securityMetrics.record(LoginStage.TOKEN_BUILD, start);
 
         Map<String, Object> response = new HashMap<>();
         response.put("token", token);
-        response.put("username", user.getUsername());
-        response.put("role", role);
+        response.put("username", principal.username());
+        response.put("role", roles.get(0));
+        response.put("roles", roles);
         response.put("permissions", permissions);
 
         return ResponseEntity.ok(response);
     }
 
+    // Logout, revokes the presented token until it expires
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Missing bearer token"));
+        }
+
+        String jwt = authHeader.substring(7);
+        VerifiedToken token;
+        try {
+            token = verifiedTokenCache.verify(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Invalid token"));
+        }
+
+        tokenRevocationService.revoke(token);
+        verifiedTokenCache.invalidate(jwt);
+
+        return ResponseEntity.ok(Map.of("message", "Logged out successfully"));
+    }
+
     // Registration for creating new users
 
     @PostMapping("/register")
@@ -0,0 +1,34 @@
+package com.dev.rbac.controller;
+
+import com.dev.rbac.dto.AuthzCheckRequest;
+import com.dev.rbac.service.AuthorizationCheckService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/authz")
+@RequiredArgsConstructor
+public class AuthzController {
+
+    private final AuthorizationCheckService authorizationCheckService;
+
+    // Batch policy decisions for other services, one decision per check in request order
+    @PostMapping("/check")
+    @PreAuthorize("hasAuthority('AUTHZ_CHECK') or hasRole('ADMIN')")
+    public ResponseEntity<?> check(@RequestBody AuthzCheckRequest request) {
+
+        if (request.checks() == null || request.checks().isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("message", "No checks given"));
+        }
+        if (request.checks().size() > authorizationCheckService.maxBatch()) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "message", "At most " + authorizationCheckService.maxBatch() + " checks per request"));
+        }
+
+        return ResponseEntity.ok(Map.of("decisions", authorizationCheckService.check(request.checks())));
+    }
+}
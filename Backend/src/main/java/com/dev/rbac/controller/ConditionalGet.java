@@ -0,0 +1,71 @@
+package com.dev.rbac.controller;
+
+import com.dev.rbac.dto.VersionStamp;
+import org.springframework.http.CacheControl;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * If-None-Match / If-Modified-Since handling for the read endpoints. The
+ * strong ETag is a digest of the version stamp, the query string (paging,
+ * sort, filters) and any extra version the body depends on, so it is known
+ * before a single entity is loaded or serialized.
+ *
+ * Collections are stamped from their table's write counter, which deletes
+ * bump as well, so both the ETag and Last-Modified move with a delete.
+ */
+final class ConditionalGet {
+
+    // clients may keep the body but must revalidate on every use
+    static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * True when the client copy is current, the 304 is then already set up on
+     * the response and the handler returns without a body.
+     */
+    static boolean notModified(WebRequest request, VersionStamp stamp, Object... extra) {
+        if (stamp == null || stamp.count() == null || stamp.count() == 0) {
+            return false;
+        }
+
+        long lastModified = stamp.lastModified() == null
+                ? -1
+                : stamp.lastModified().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        return request.checkNotModified(etag(request, stamp, extra), lastModified);
+    }
+
+    private static String etag(WebRequest request, VersionStamp stamp, Object... extra) {
+        StringBuilder source = new StringBuilder()
+                .append(stamp.count()).append('|')
+                .append(stamp.maxId()).append('|')
+                .append(stamp.lastModified()).append('|')
+                .append(stamp.revisions());
+        for (Object part : extra) {
+            source.append('|').append(part);
+        }
+
+        Map<String, String[]> parameters = new TreeMap<>(request.getParameterMap());
+        parameters.forEach((name, values) -> source.append('|').append(name).append('=').append(String.join(",", values)));
+
+        return '"' + HexFormat.of().formatHex(sha256(source.toString()), 0, 16) + '"';
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
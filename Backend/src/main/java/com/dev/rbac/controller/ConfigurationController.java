@@ -0,0 +1,81 @@
+package com.dev.rbac.controller;
+
+import com.dev.rbac.dto.VersionStamp;
+import com.dev.rbac.service.ConfigurationService;
+import com.dev.rbac.service.ConfigurationSnapshot;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collection;
+
+@RestController
+@RequestMapping("/api/configurations")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class ConfigurationController {
+
+    private final ConfigurationService configurationService;
+
+    /* read, served from the in-memory snapshot */
+
+    @GetMapping
+    public ResponseEntity<Collection<ConfigurationSnapshot.Entry>> getAllConfigurations(WebRequest request) {
+        ConfigurationSnapshot snapshot = configurationService.snapshot();
+        VersionStamp version = new VersionStamp(snapshot.rowCount(), null, snapshot.lastModified(), null);
+
+        if (ConditionalGet.notModified(request, version, snapshot.contentDigest())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(ConditionalGet.REVALIDATE)
+                .body(snapshot.entries());
+    }
+
+    @GetMapping("/{key}")
+    public ResponseEntity<ConfigurationSnapshot.Entry> getConfiguration(@PathVariable String key, WebRequest request) {
+        ConfigurationSnapshot snapshot = configurationService.snapshot();
+        ConfigurationSnapshot.Entry entry = snapshot.entry(key)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Configuration not found: " + key));
+
+        if (ConditionalGet.notModified(request, new VersionStamp(1L, null, entry.updatedAt(), null), snapshot.entryDigest(key))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(ConditionalGet.REVALIDATE)
+                .body(entry);
+    }
+
+    //update
+
+    @PutMapping("/{key}")
+    public ResponseEntity<ConfigurationSnapshot.Entry> updateConfiguration(
+            @PathVariable String key,
+            @RequestBody UpdateConfigurationRequest request
+    ) {
+        return ResponseEntity.ok(configurationService.update(
+                key, request.getValue(), request.getType(), request.getDescription()));
+    }
+
+    //delete
+
+    @DeleteMapping("/{key}")
+    public ResponseEntity<?> deleteConfiguration(@PathVariable String key) {
+        configurationService.delete(key);
+        return ResponseEntity.ok().build();
+    }
+
+    /*   -------  DTOs ----- */
+
+    @Data
+    public static class UpdateConfigurationRequest {
+        private String value;
+        private String type;
+        private String description;
+    }
+}
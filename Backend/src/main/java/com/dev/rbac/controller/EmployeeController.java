@@ -1,13 +1,31 @@
 package com.dev.rbac.controller;
 
+import com.dev.rbac.dto.DepartmentSalaryStats;
+import com.dev.rbac.dto.EmployeeSearchCriteria;
+import com.dev.rbac.dto.PageResponse;
 import com.dev.rbac.model.Employee;
+import com.dev.rbac.service.DepartmentStatsService;
+import com.dev.rbac.service.EmployeeImportService;
+import com.dev.rbac.service.EmployeeImportService.Format;
+import com.dev.rbac.service.EmployeeImportService.ImportResult;
 import com.dev.rbac.service.EmployeeService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -16,19 +34,80 @@ import java.util.List;
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final EmployeeImportService employeeImportService;
+    private final DepartmentStatsService departmentStatsService;
+    private final NdjsonExport ndjsonExport;
 
     /*  read  */
 
     @GetMapping
     @PreAuthorize("hasAuthority('EMPLOYEE_READ')")
-    public ResponseEntity<List<Employee>> getAllEmployees() {
-        return ResponseEntity.ok(employeeService.getAllEmployees());
+    public ResponseEntity<PageResponse<Employee>> getAllEmployees(
+            @PageableDefault(size = 50, sort = "id") Pageable pageable,
+            @RequestParam(required = false) Long after,
+            WebRequest request
+    ) {
+        if (ConditionalGet.notModified(request, employeeService.getEmployeesVersion())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(ConditionalGet.REVALIDATE)
+                .body(employeeService.getEmployees(pageable, after));
+    }
+
+    // Combinable filters, ?total=true adds a (cached) total count
+    @GetMapping("/search")
+    @PreAuthorize("hasAuthority('EMPLOYEE_READ')")
+    public ResponseEntity<PageResponse<Employee>> searchEmployees(
+            @ModelAttribute EmployeeSearchCriteria criteria,
+            @PageableDefault(size = 50, sort = "id") Pageable pageable,
+            @RequestParam(defaultValue = "false") boolean total,
+            WebRequest request
+    ) {
+        if (ConditionalGet.notModified(request, employeeService.getEmployeesVersion())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(ConditionalGet.REVALIDATE)
+                .body(employeeService.searchEmployees(criteria, pageable, total));
+    }
+
+    // Per-department headcount and salary aggregates, served from memory
+    @GetMapping("/stats")
+    @PreAuthorize("hasAuthority('EMPLOYEE_READ')")
+    public ResponseEntity<List<DepartmentSalaryStats>> getDepartmentStats() {
+        return ResponseEntity.ok(departmentStatsService.getStats());
+    }
+
+    // Rebuilds the aggregates from the employees table (repair)
+    @PostMapping("/stats/recompute")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<DepartmentSalaryStats>> recomputeDepartmentStats() {
+        return ResponseEntity.ok(departmentStatsService.recomputeAll());
+    }
+
+    // Streaming export, ?format=ndjson is the only format for now
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @PreAuthorize("hasAuthority('EMPLOYEE_READ')")
+    public WebAsyncTask<Void> exportEmployees(
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response
+    ) {
+        if (!"ndjson".equalsIgnoreCase(format)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + format);
+        }
+        return ndjsonExport.stream(response, out -> employeeService.exportEmployees(out));
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAuthority('EMPLOYEE_READ')")
-    public ResponseEntity<Employee> getEmployeeById(@PathVariable Long id) {
-        return ResponseEntity.ok(employeeService.getEmployeeById(id));
+    public ResponseEntity<Employee> getEmployeeById(@PathVariable Long id, WebRequest request) {
+        if (ConditionalGet.notModified(request, employeeService.getEmployeeVersion(id))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(ConditionalGet.REVALIDATE)
+                .body(employeeService.getEmployeeById(id));
     }
 
     //create
@@ -47,6 +126,29 @@ public class EmployeeController {
         return ResponseEntity.ok(employeeService.createEmployee(employee));
     }
 
+    // Bulk import: CSV (name,email,department,salary) or NDJSON, bad rows are reported per line
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasAuthority('EMPLOYEE_CREATE')")
+    public ResponseEntity<ImportResult> importEmployees(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format
+    ) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(employeeImportService.importEmployees(in, importFormat(format, file)));
+        }
+    }
+
+    private static Format importFormat(String format, MultipartFile file) {
+        String name = format != null ? format : file.getOriginalFilename();
+        if (name != null && name.toLowerCase().endsWith("csv")) {
+            return Format.CSV;
+        }
+        if (name != null && (name.toLowerCase().endsWith("ndjson") || name.toLowerCase().endsWith("jsonl"))) {
+            return Format.NDJSON;
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported import format: " + name);
+    }
+
     /* update  */
 
     @PutMapping("/{id}")
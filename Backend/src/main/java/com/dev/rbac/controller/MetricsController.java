@@ -0,0 +1,42 @@
+package com.dev.rbac.controller;
+
+import com.dev.rbac.config.SecondLevelCache;
+import com.dev.rbac.security.AuthoritySnapshotCache;
+import com.dev.rbac.security.PasswordHashingService;
+import com.dev.rbac.security.VerifiedTokenCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/metrics")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class MetricsController {
+
+    private final AuthoritySnapshotCache authoritySnapshotCache;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final PasswordHashingService passwordHashingService;
+    private final SecondLevelCache secondLevelCache;
+
+    @GetMapping("/auth-cache")
+    public ResponseEntity<AuthoritySnapshotCache.Stats> getAuthCacheStats() {
+        return ResponseEntity.ok(authoritySnapshotCache.stats());
+    }
+
+    @GetMapping("/token-cache")
+    public ResponseEntity<VerifiedTokenCache.Stats> getTokenCacheStats() {
+        return ResponseEntity.ok(verifiedTokenCache.stats());
+    }
+
+    @GetMapping("/password-hashing")
+    public ResponseEntity<PasswordHashingService.Stats> getPasswordHashingStats() {
+        return ResponseEntity.ok(passwordHashingService.stats());
+    }
+
+    @GetMapping("/second-level-cache")
+    public ResponseEntity<SecondLevelCache.Stats> getSecondLevelCacheStats() {
+        return ResponseEntity.ok(secondLevelCache.stats());
+    }
+}
@@ -0,0 +1,55 @@
+package com.dev.rbac.controller;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Runs NDJSON exports on their own bounded pool with their own timeout.
+ * Exports hold a thread for minutes, so they stay off the shared MVC async
+ * executor that login continuations and rehashing run on. When every export
+ * thread is busy and the queue is full, the request is rejected with 503.
+ */
+@Component
+public class NdjsonExport {
+
+    private final long timeoutMillis;
+    private final ThreadPoolTaskExecutor executor;
+
+    public NdjsonExport(
+            @Value("${export.timeout-ms:1800000}") long timeoutMillis,
+            @Value("${export.threads:4}") int threads,
+            @Value("${export.queue-capacity:8}") int queueCapacity) {
+        this.timeoutMillis = timeoutMillis;
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("export-");
+        // thrown from submit, MVC dispatches it as the request's result
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many exports in progress, retry later");
+        });
+        executor.initialize();
+    }
+
+    public WebAsyncTask<Void> stream(HttpServletResponse response, StreamingResponseBody body) {
+        return new WebAsyncTask<>(timeoutMillis, executor, () -> {
+            response.setContentType("application/x-ndjson");
+            body.writeTo(response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -1,28 +1,32 @@
 package com.dev.rbac.controller;
 
+import com.dev.rbac.dto.PageResponse;
 import com.dev.rbac.model.Permission;
-import com.dev.rbac.repository.PermissionRepository;
+import com.dev.rbac.service.PermissionService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/permissions")
 @RequiredArgsConstructor
 public class PermissionController {
 
-    private final PermissionRepository permissionRepository;
+    private final PermissionService permissionService;
 
     /* Read  */
 
     // ADMIN or anyone with PERMISSION_VIEW
     @GetMapping
     @PreAuthorize("hasAuthority('PERMISSION_READ')")
-    public ResponseEntity<List<Permission>> getAllPermissions() {
-        return ResponseEntity.ok(permissionRepository.findAll());
+    public ResponseEntity<PageResponse<Permission>> getAllPermissions(
+            @PageableDefault(size = 50, sort = "id") Pageable pageable,
+            @RequestParam(required = false) Long after
+    ) {
+        return ResponseEntity.ok(permissionService.getPermissions(pageable, after));
     }
 
     /* create */
@@ -32,7 +36,7 @@ public class PermissionController {
     public ResponseEntity<Permission> createPermission( 
             @RequestBody Permission permission
     ) {
-        return ResponseEntity.ok(permissionRepository.save(permission));
+        return ResponseEntity.ok(permissionService.createPermission(permission));
     }
 
     //update
@@ -44,15 +48,7 @@ public class PermissionController {
             @PathVariable Long id,
             @RequestBody Permission updatedPermission
     ) {
-        Permission permission = permissionRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Permission not found"));
-
-        permission.setName(updatedPermission.getName());
-        permission.setDescription(updatedPermission.getDescription());
-        permission.setResource(updatedPermission.getResource());
-        permission.setAction(updatedPermission.getAction());
-
-        return ResponseEntity.ok(permissionRepository.save(permission));
+        return ResponseEntity.ok(permissionService.updatePermission(id, updatedPermission));
     }
 
     // delete
@@ -60,7 +56,7 @@ public class PermissionController {
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAuthority('PERMISSION_DELETE')")
     public ResponseEntity<?> deletePermission(@PathVariable Long id) {
-        permissionRepository.deleteById(id);
+        permissionService.deletePermission(id);
         return ResponseEntity.ok("Permission deleted successfully");
     }
 }
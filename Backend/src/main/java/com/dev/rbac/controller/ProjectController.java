@@ -1,15 +1,18 @@
 package com.dev.rbac.controller;
 
+import com.dev.rbac.dto.PageResponse;
 import com.dev.rbac.model.Project;
 import com.dev.rbac.service.ProjectService;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/projects")
@@ -22,14 +25,28 @@ public class ProjectController {
 
     @GetMapping
     @PreAuthorize("hasAuthority('PROJECT_READ')")
-    public ResponseEntity<List<Project>> getAllProjects() {
-        return ResponseEntity.ok(projectService.getAllProjects());
+    public ResponseEntity<PageResponse<Project>> getAllProjects(
+            @PageableDefault(size = 50, sort = "id") Pageable pageable,
+            @RequestParam(required = false) Long after,
+            WebRequest request
+    ) {
+        if (ConditionalGet.notModified(request, projectService.getProjectsVersion())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(ConditionalGet.REVALIDATE)
+                .body(projectService.getProjects(pageable, after));
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAuthority('PROJECT_READ')")
-    public ResponseEntity<Project> getProjectById(@PathVariable Long id) {
-        return ResponseEntity.ok(projectService.getProjectById(id));
+    public ResponseEntity<Project> getProjectById(@PathVariable Long id, WebRequest request) {
+        if (ConditionalGet.notModified(request, projectService.getProjectVersion(id))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(ConditionalGet.REVALIDATE)
+                .body(projectService.getProjectById(id));
     }
 
     /* create */
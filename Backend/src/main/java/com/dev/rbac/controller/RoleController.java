@@ -1,14 +1,17 @@
 package com.dev.rbac.controller;
 
+import com.dev.rbac.dto.PageResponse;
+import com.dev.rbac.dto.RoleView;
 import com.dev.rbac.model.Role;
 import com.dev.rbac.service.RoleService;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Set;
 
 @RestController
@@ -20,28 +23,31 @@ public class RoleController {
     
     @GetMapping
     @PreAuthorize("hasAuthority('ROLE_READ')")
-    public ResponseEntity<List<Role>> getAllRoles() {
-        return ResponseEntity.ok(roleService.getAllRoles());
+    public ResponseEntity<PageResponse<RoleView>> getAllRoles(
+            @PageableDefault(size = 50, sort = "id") Pageable pageable,
+            @RequestParam(required = false) Long after
+    ) {
+        return ResponseEntity.ok(roleService.getRoles(pageable, after));
     }
     
     @PostMapping
     @PreAuthorize("hasAuthority('ROLE_CREATE')")
-    public ResponseEntity<Role> createRole(@RequestBody CreateRoleRequest request) {
+    public ResponseEntity<RoleView> createRole(@RequestBody CreateRoleRequest request) {
         Role role = new Role();
         role.setName(request.getName());
         role.setDescription(request.getDescription());
         
         Role createdRole = roleService.createRole(role, request.getPermissions());
-        return ResponseEntity.ok(createdRole);
+        return ResponseEntity.ok(RoleView.of(createdRole));
     }
     
     @PutMapping("/{id}/permissions")
     @PreAuthorize("hasAuthority('ROLE_UPDATE')")
-    public ResponseEntity<Role> updateRolePermissions(
+    public ResponseEntity<RoleView> updateRolePermissions(
             @PathVariable Long id,
             @RequestBody UpdatePermissionsRequest request) {
         Role updatedRole = roleService.updateRolePermissions(id, request.getPermissions());
-        return ResponseEntity.ok(updatedRole);
+        return ResponseEntity.ok(RoleView.of(updatedRole));
     }
     
     @DeleteMapping("/{id}")
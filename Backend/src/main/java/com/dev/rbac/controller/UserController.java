@@ -1,12 +1,24 @@
 package com.dev.rbac.controller;
 
+import com.dev.rbac.dto.PageResponse;
+import com.dev.rbac.dto.UserView;
 import com.dev.rbac.model.User;
+import com.dev.rbac.security.AuthorizationEpochs;
+import com.dev.rbac.service.UserProvisioningService;
+import com.dev.rbac.service.UserProvisioningService.ProvisioningResult;
 import com.dev.rbac.service.UserService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.Set;
@@ -17,39 +29,76 @@ import java.util.Set;
 public class UserController {
     
     private final UserService userService;
+    private final UserProvisioningService userProvisioningService;
+    private final AuthorizationEpochs authorizationEpochs;
+    private final NdjsonExport ndjsonExport;
     
     @GetMapping
     @PreAuthorize("hasAuthority('USER_READ')")
-    public ResponseEntity<List<User>> getAllUsers() {
-        System.out.println("Fetching all users");
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<PageResponse<UserView>> getAllUsers(
+            @PageableDefault(size = 50, sort = "id") Pageable pageable,
+            @RequestParam(required = false) Long after,
+            WebRequest request
+    ) {
+        // role assignments do not touch users.updated_at, the authorization generation covers them
+        if (ConditionalGet.notModified(request, userService.getUsersVersion(), authorizationEpochs.generation())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(ConditionalGet.REVALIDATE)
+                .body(userService.getUsers(pageable, after));
     }
     
+    // Streaming export, ?format=ndjson is the only format for now
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @PreAuthorize("hasAuthority('USER_READ')")
+    public WebAsyncTask<Void> exportUsers(
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response
+    ) {
+        if (!"ndjson".equalsIgnoreCase(format)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + format);
+        }
+        return ndjsonExport.stream(response, out -> userService.exportUsers(out));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAuthority('USER_READ')")
-    public ResponseEntity<User> getUserById(@PathVariable Long id) {
-        return ResponseEntity.ok(userService.getUserById(id));
+    public ResponseEntity<UserView> getUserById(@PathVariable Long id, WebRequest request) {
+        if (ConditionalGet.notModified(request, userService.getUserVersion(id), authorizationEpochs.generation())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(ConditionalGet.REVALIDATE)
+                .body(userService.getUser(id));
     }
     
     @PostMapping
     @PreAuthorize("hasAuthority('USER_CREATE')")
-    public ResponseEntity<User> createUser(@RequestBody CreateUserRequest request) {
+    public ResponseEntity<UserView> createUser(@RequestBody CreateUserRequest request) {
         User user = new User();
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
         user.setPassword(request.getPassword());
         
         User createdUser = userService.createUser(user, request.getRoles());
-        return ResponseEntity.ok(createdUser);
+        return ResponseEntity.ok(UserView.of(createdUser));
+    }
+    
+    // Bulk provisioning, failed records are reported by index and skipped
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAuthority('USER_CREATE')")
+    public ResponseEntity<ProvisioningResult> provisionUsers(@RequestBody List<CreateUserRequest> requests) {
+        return ResponseEntity.ok(userProvisioningService.provision(requests));
     }
     
     @PutMapping("/{id}/roles")
     @PreAuthorize("hasAuthority('USER_UPDATE')")
-    public ResponseEntity<User> updateUserRoles(
+    public ResponseEntity<UserView> updateUserRoles(
             @PathVariable Long id,
             @RequestBody UpdateRolesRequest request) {
         User updatedUser = userService.updateUserRoles(id, request.getRoles());
-        return ResponseEntity.ok(updatedUser);
+        return ResponseEntity.ok(UserView.of(updatedUser));
     }
     
     @DeleteMapping("/{id}")
@@ -0,0 +1,8 @@
+package com.dev.rbac.dto;
+
+/* One "can subject do permission (on resource)?" question of a batch check */
+public record AuthzCheck(
+        String subject,
+        String permission,
+        String resource
+) {}
@@ -0,0 +1,5 @@
+package com.dev.rbac.dto;
+
+import java.util.List;
+
+public record AuthzCheckRequest(List<AuthzCheck> checks) {}
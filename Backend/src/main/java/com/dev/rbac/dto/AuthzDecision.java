@@ -0,0 +1,27 @@
+package com.dev.rbac.dto;
+
+/* Answer to one AuthzCheck, echoed back with the question */
+public record AuthzDecision(
+        String subject,
+        String permission,
+        String resource,
+        boolean allowed,
+        Reason reason
+) {
+
+    public enum Reason { GRANTED, NOT_GRANTED, UNKNOWN_SUBJECT, SUBJECT_DISABLED, INVALID }
+
+    public static AuthzDecision of(AuthzCheck check, Reason reason) {
+        // a null entry in the batch has nothing to echo back
+        if (check == null) {
+            return new AuthzDecision(null, null, null, false, Reason.INVALID);
+        }
+        return new AuthzDecision(
+                check.subject(),
+                check.permission(),
+                check.resource(),
+                reason == Reason.GRANTED,
+                reason
+        );
+    }
+}
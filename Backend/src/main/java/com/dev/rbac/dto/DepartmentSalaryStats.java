@@ -0,0 +1,25 @@
+package com.dev.rbac.dto;
+
+/* Headcount and salary aggregates of one department, null department = unassigned */
+public record DepartmentSalaryStats(
+        String department,
+        long headcount,
+        double salarySum,
+        Double salaryMin,
+        Double salaryMax,
+        Double averageSalary
+) {
+
+    // JPQL constructor projection over department_stats ('' is stored for no department)
+    public DepartmentSalaryStats(String department, long headcount, long salaryCount,
+                                 double salarySum, Double salaryMin, Double salaryMax) {
+        this(
+                department.isEmpty() ? null : department,
+                headcount,
+                salarySum,
+                salaryMin,
+                salaryMax,
+                salaryCount == 0 ? null : salarySum / salaryCount
+        );
+    }
+}
@@ -0,0 +1,18 @@
+package com.dev.rbac.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/* Filters of GET /api/employees/search, every field is optional and they combine with AND */
+public record EmployeeSearchCriteria(
+        String department,
+        Double minSalary,
+        Double maxSalary,
+        String name,
+        String email,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedTo
+) {}
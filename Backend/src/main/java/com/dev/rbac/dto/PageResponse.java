@@ -0,0 +1,78 @@
+package com.dev.rbac.dto;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a list endpoint. {@code nextCursor} is the id to pass as
+ * {@code after} to continue with keyset paging, null on the last page and
+ * on pages not sorted by ascending id, which a keyset page could not continue.
+ * Offset pages also carry the totals, keyset pages do not count.
+ */
+public record PageResponse<T>(
+        List<T> items,
+        Integer page,
+        int size,
+        Long totalElements,
+        Integer totalPages,
+        String nextCursor
+) {
+
+    public static <T> PageResponse<T> of(Page<T> page, Function<T, Long> idOf) {
+        List<T> items = page.getContent();
+        String nextCursor = page.hasNext() && !items.isEmpty() && isIdAscending(page.getSort())
+                ? String.valueOf(idOf.apply(items.get(items.size() - 1)))
+                : null;
+
+        return new PageResponse<>(
+                items,
+                page.getNumber(),
+                page.getSize(),
+                page.getTotalElements(),
+                page.getTotalPages(),
+                nextCursor
+        );
+    }
+
+    // Offset page without a COUNT query, the total is filled in only when the caller has one.
+    // No cursor: the filtered search only pages by offset
+    public static <T> PageResponse<T> ofSlice(Slice<T> slice, Long totalElements) {
+        List<T> items = slice.getContent();
+        Integer totalPages = totalElements == null || slice.getSize() == 0
+                ? null
+                : (int) Math.ceil((double) totalElements / slice.getSize());
+
+        return new PageResponse<>(
+                items,
+                slice.getNumber(),
+                slice.getSize(),
+                totalElements,
+                totalPages,
+                null
+        );
+    }
+
+    /**
+     * @param rows up to {@code size + 1} rows ordered by id, the extra row
+     *             only signals that another page exists
+     */
+    public static <T> PageResponse<T> ofKeyset(List<T> rows, int size, Function<T, Long> idOf) {
+        boolean hasNext = rows.size() > size;
+        List<T> items = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext
+                ? String.valueOf(idOf.apply(items.get(items.size() - 1)))
+                : null;
+
+        return new PageResponse<>(List.copyOf(items), null, size, null, null, nextCursor);
+    }
+
+    // true when the first order is id ascending, the only order keyset pages continue
+    public static boolean isIdAscending(Sort sort) {
+        Sort.Order first = sort.stream().findFirst().orElse(null);
+        return first != null && first.getProperty().equals("id") && first.isAscending();
+    }
+}
@@ -0,0 +1,32 @@
+package com.dev.rbac.dto;
+
+import com.dev.rbac.model.Role;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+/* Role response: permission id/name pairs instead of the full permission entities */
+public record RoleView(
+        Long id,
+        String name,
+        String description,
+        LocalDateTime createdAt,
+        List<PermissionRef> permissions
+) {
+
+    public record PermissionRef(Long id, String name) {}
+
+    public static RoleView of(Role role) {
+        return new RoleView(
+                role.getId(),
+                role.getName(),
+                role.getDescription(),
+                role.getCreatedAt(),
+                role.getPermissions().stream()
+                        .map(permission -> new PermissionRef(permission.getId(), permission.getName()))
+                        .sorted(Comparator.comparing(PermissionRef::id))
+                        .toList()
+        );
+    }
+}
@@ -0,0 +1,13 @@
+package com.dev.rbac.dto;
+
+import java.time.LocalDateTime;
+
+/* User columns without the password hash or the role graph */
+public record UserSummary(
+        Long id,
+        String username,
+        String email,
+        boolean enabled,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {}
@@ -0,0 +1,49 @@
+package com.dev.rbac.dto;
+
+import com.dev.rbac.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+/* User response: plain columns plus role id/name, no password hash or permission graph */
+public record UserView(
+        Long id,
+        String username,
+        String email,
+        boolean enabled,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        List<RoleRef> roles
+) {
+
+    public record RoleRef(Long id, String name) {}
+
+    public static UserView of(UserSummary user, List<RoleRef> roles) {
+        return new UserView(
+                user.id(),
+                user.username(),
+                user.email(),
+                user.enabled(),
+                user.createdAt(),
+                user.updatedAt(),
+                roles
+        );
+    }
+
+    // from an entity whose roles are already loaded, never touches permissions
+    public static UserView of(User user) {
+        return new UserView(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.isEnabled(),
+                user.getCreatedAt(),
+                user.getUpdatedAt(),
+                user.getRoles().stream()
+                        .map(role -> new RoleRef(role.getId(), role.getName()))
+                        .sorted(Comparator.comparing(RoleRef::id))
+                        .toList()
+        );
+    }
+}
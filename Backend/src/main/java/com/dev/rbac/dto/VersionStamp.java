@@ -0,0 +1,18 @@
+package com.dev.rbac.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cheap version of a resource or collection for conditional GETs. A single
+ * resource is stamped from its own row: count, id, change time and write
+ * counter, where a count of 0 means it does not exist. A collection is
+ * stamped from its table_versions row: last bump and table write counter.
+ * The counters catch updates that land within the same second.
+ */
+public record VersionStamp(Long count, Long maxId, LocalDateTime lastModified, Long revisions) {
+
+    // a collection always exists, even when it is empty
+    public VersionStamp(LocalDateTime lastModified, Long revisions) {
+        this(1L, null, lastModified, revisions);
+    }
+}
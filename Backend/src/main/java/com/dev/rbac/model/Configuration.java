@@ -29,6 +29,10 @@ public class Configuration {
     
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    // bumped by every update, updated_at alone repeats for two writes within one second
+    @Column(name = "revision")
+    private Long revision = 0L;
     
     @PrePersist
     protected void onCreate() {
@@ -39,5 +43,6 @@ public class Configuration {
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        revision = revision == null ? 1 : revision + 1;
     }
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.dev.rbac.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running salary aggregates of one department, kept in step with the
+ * employees table by DepartmentStatsService. Employees without a
+ * department are counted under the empty string.
+ */
+@Entity
+@Table(name = "department_stats")
+@Data
+public class DepartmentStats {
+
+    @Id
+    @Column(length = 255)
+    private String department;
+
+    @Column(nullable = false)
+    private long headcount;
+
+    // employees with a salary, the base of the average
+    @Column(name = "salary_count", nullable = false)
+    private long salaryCount;
+
+    @Column(name = "salary_sum", nullable = false)
+    private double salarySum;
+
+    @Column(name = "salary_min")
+    private Double salaryMin;
+
+    @Column(name = "salary_max")
+    private Double salaryMax;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -6,12 +6,30 @@ import lombok.Data;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "employees")
+@Table(
+    name = "employees",
+    // Search filters: department with salary range, name prefix, date ranges (email is unique)
+    indexes = {
+        @Index(name = "idx_employees_department_salary", columnList = "department, salary"),
+        @Index(name = "idx_employees_name", columnList = "name"),
+        @Index(name = "idx_employees_created_at", columnList = "created_at"),
+        @Index(name = "idx_employees_updated_at", columnList = "updated_at")
+    }
+)
 @Data
 public class Employee {
 
+    // Table-backed pooled ids, IDENTITY would disable JDBC insert batching
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "employee_id")
+    @TableGenerator(
+        name = "employee_id",
+        table = "id_generators",
+        pkColumnName = "gen_name",
+        valueColumnName = "gen_value",
+        pkColumnValue = "employees",
+        allocationSize = 50
+    )
     private Long id;
 
     @Column(nullable = false)
@@ -30,6 +48,10 @@ public class Employee {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // bumped by every update, updated_at alone repeats for two writes within one second
+    @Column(name = "revision")
+    private Long revision = 0L;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -38,5 +60,6 @@ public class Employee {
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        revision = revision == null ? 1 : revision + 1;
     }
 }
@@ -33,6 +33,10 @@ public class Project {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // bumped by every update, updated_at alone repeats for two writes within one second
+    @Column(name = "revision")
+    private Long revision = 0L;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -41,5 +45,6 @@ public class Project {
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        revision = revision == null ? 1 : revision + 1;
     }
 }
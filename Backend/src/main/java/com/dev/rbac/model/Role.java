@@ -2,6 +2,11 @@ package com.dev.rbac.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -9,6 +14,8 @@ import java.util.Set;
 
 @Entity
 @Table(name = "roles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 public class Role {
     @Id
@@ -23,7 +30,12 @@ public class Role {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
-    @ManyToMany(fetch = FetchType.EAGER)
+    // Lazy, a page of roles loads its permissions in one batched select
+    @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @JoinTable(
         name = "role_permissions",
         joinColumns = @JoinColumn(name = "role_id"),
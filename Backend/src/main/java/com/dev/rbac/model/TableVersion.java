@@ -0,0 +1,26 @@
+package com.dev.rbac.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Write counter of one table served with conditional GETs, bumped by
+ * TableVersions with every insert, update and delete of its rows.
+ */
+@Entity
+@Table(name = "table_versions")
+@Data
+public class TableVersion {
+
+    @Id
+    @Column(name = "table_name", length = 64)
+    private String tableName;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
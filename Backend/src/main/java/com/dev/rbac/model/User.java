@@ -3,6 +3,9 @@ package com.dev.rbac.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,10 +18,25 @@ import java.util.stream.Collectors;
 
 @Entity
 @Table(name = "users")
+// Full authority graph for authentication, everything else loads roles lazily
+@NamedEntityGraph(
+    name = "User.authorities",
+    attributeNodes = @NamedAttributeNode(value = "roles", subgraph = "permissions"),
+    subgraphs = @NamedSubgraph(name = "permissions", attributeNodes = @NamedAttributeNode("permissions"))
+)
 @Data
 public class User implements UserDetails {
+    // Table-backed pooled ids, IDENTITY would disable JDBC insert batching
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "user_id")
+    @TableGenerator(
+        name = "user_id",
+        table = "id_generators",
+        pkColumnName = "gen_name",
+        valueColumnName = "gen_value",
+        pkColumnValue = "users",
+        allocationSize = 50
+    )
     private Long id;
     
     @Column(unique = true, nullable = false)
@@ -38,7 +56,14 @@ public class User implements UserDetails {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
-    @ManyToMany(fetch = FetchType.EAGER)
+    // bumped by every update, updated_at alone repeats for two writes within one second
+    @Column(name = "revision")
+    private Long revision = 0L;
+    
+    @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @JoinTable(
         name = "user_roles",
         joinColumns = @JoinColumn(name = "user_id"),
@@ -55,6 +80,7 @@ public class User implements UserDetails {
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        revision = revision == null ? 1 : revision + 1;
     }
     
     @Override
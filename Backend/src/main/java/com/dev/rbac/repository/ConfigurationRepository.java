@@ -2,11 +2,25 @@ package com.dev.rbac.repository;
 
 import com.dev.rbac.model.Configuration;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface ConfigurationRepository extends JpaRepository<Configuration, Long> {
     Optional<Configuration> findByKey(String key);
+
+    // Cheap change check for the in-memory snapshot
+    @Query("SELECT MAX(c.updatedAt) AS lastModified, COUNT(c) AS rowCount, MAX(c.id) AS maxId, " +
+           "SUM(COALESCE(c.revision, 0L)) AS revisions FROM Configuration c")
+    ChangeMarker findChangeMarker();
+
+    interface ChangeMarker {
+        LocalDateTime getLastModified();
+        long getRowCount();
+        Long getMaxId();
+        Long getRevisions();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.dev.rbac.repository;
+
+import com.dev.rbac.dto.DepartmentSalaryStats;
+import com.dev.rbac.model.DepartmentStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Delta updates of the department aggregates. Every statement is a single
+ * row write, so concurrent employee writes serialize on the department row
+ * instead of overwriting each other.
+ */
+public interface DepartmentStatsRepository extends JpaRepository<DepartmentStats, String> {
+
+    // '' stands for employees without a department
+    String SAME_DEPARTMENT = "WHERE (e.department = :department OR (:department = '' AND e.department IS NULL))";
+
+    /* Read, DTO projections so the values never come from a stale persistence context */
+
+    @Query("SELECT new com.dev.rbac.dto.DepartmentSalaryStats(s.department, s.headcount, s.salaryCount, " +
+           "s.salarySum, s.salaryMin, s.salaryMax) FROM DepartmentStats s WHERE s.department = :department")
+    Optional<DepartmentSalaryStats> findStats(@Param("department") String department);
+
+    @Query("SELECT new com.dev.rbac.dto.DepartmentSalaryStats(s.department, s.headcount, s.salaryCount, " +
+           "s.salarySum, s.salaryMin, s.salaryMax) FROM DepartmentStats s")
+    List<DepartmentSalaryStats> findAllStats();
+
+    /* Deltas */
+
+    @Modifying
+    @Query(value = "INSERT INTO department_stats " +
+                   "(department, headcount, salary_count, salary_sum, salary_min, salary_max, updated_at) " +
+                   "VALUES (:department, 1, 1, :salary, :salary, :salary, CURRENT_TIMESTAMP) " +
+                   "ON DUPLICATE KEY UPDATE headcount = headcount + 1, salary_count = salary_count + 1, " +
+                   "salary_sum = salary_sum + :salary, " +
+                   "salary_min = LEAST(COALESCE(salary_min, :salary), :salary), " +
+                   "salary_max = GREATEST(COALESCE(salary_max, :salary), :salary), " +
+                   "updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    void addWithSalary(@Param("department") String department, @Param("salary") double salary);
+
+    @Modifying
+    @Query(value = "INSERT INTO department_stats " +
+                   "(department, headcount, salary_count, salary_sum, updated_at) " +
+                   "VALUES (:department, 1, 0, 0, CURRENT_TIMESTAMP) " +
+                   "ON DUPLICATE KEY UPDATE headcount = headcount + 1, updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    void addWithoutSalary(@Param("department") String department);
+
+    @Modifying
+    @Query(value = "UPDATE department_stats SET headcount = headcount - 1, salary_count = salary_count - 1, " +
+                   "salary_sum = salary_sum - :salary, updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE department = :department",
+           nativeQuery = true)
+    void removeWithSalary(@Param("department") String department, @Param("salary") double salary);
+
+    @Modifying
+    @Query(value = "UPDATE department_stats SET headcount = headcount - 1, updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE department = :department",
+           nativeQuery = true)
+    void removeWithoutSalary(@Param("department") String department);
+
+    // Min/max cannot be undone by a delta, re-read them from the (department, salary) index
+    @Modifying
+    @Query(value = "UPDATE department_stats SET " +
+                   "salary_min = (SELECT MIN(e.salary) FROM employees e " + SAME_DEPARTMENT + "), " +
+                   "salary_max = (SELECT MAX(e.salary) FROM employees e " + SAME_DEPARTMENT + ") " +
+                   "WHERE department = :department",
+           nativeQuery = true)
+    void refreshMinMax(@Param("department") String department);
+
+    @Modifying
+    @Query(value = "DELETE FROM department_stats WHERE department = :department AND headcount <= 0",
+           nativeQuery = true)
+    void deleteIfEmpty(@Param("department") String department);
+
+    /* Full recompute */
+
+    @Modifying
+    @Query(value = "DELETE FROM department_stats", nativeQuery = true)
+    void deleteAllRows();
+
+    @Modifying
+    @Query(value = "INSERT INTO department_stats " +
+                   "(department, headcount, salary_count, salary_sum, salary_min, salary_max, updated_at) " +
+                   "SELECT COALESCE(department, ''), COUNT(*), COUNT(salary), COALESCE(SUM(salary), 0), " +
+                   "MIN(salary), MAX(salary), CURRENT_TIMESTAMP " +
+                   "FROM employees GROUP BY COALESCE(department, '')",
+           nativeQuery = true)
+    void insertFromEmployees();
+}
@@ -1,11 +1,30 @@
 package com.dev.rbac.repository;
 
+import com.dev.rbac.dto.VersionStamp;
 import com.dev.rbac.model.Employee;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.List;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee> {
     Optional<Employee> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @Query("SELECT e.email FROM Employee e WHERE e.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Keyset paging, seeks past the last seen id instead of skipping rows
+    List<Employee> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Conditional GET validator of one row, collections use their table_versions counter
+    @Query("SELECT new com.dev.rbac.dto.VersionStamp(COUNT(e), MAX(e.id), MAX(COALESCE(e.updatedAt, e.createdAt)), " +
+           "SUM(COALESCE(e.revision, 0L))) " +
+           "FROM Employee e WHERE e.id = :id")
+    VersionStamp findVersionById(@Param("id") Long id);
 }
@@ -0,0 +1,75 @@
+package com.dev.rbac.repository;
+
+import com.dev.rbac.dto.EmployeeSearchCriteria;
+import com.dev.rbac.model.Employee;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the employee search as one Criteria query. Only the filters that
+ * are present become predicates, each of them lines up with an index on
+ * the employees table (department + salary, name, email, created_at,
+ * updated_at). Name and email match by prefix so the index stays usable.
+ */
+public final class EmployeeSpecifications {
+
+    private EmployeeSpecifications() {
+    }
+
+    public static Specification<Employee> matching(EmployeeSearchCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (hasText(criteria.department())) {
+                predicates.add(cb.equal(root.get("department"), criteria.department()));
+            }
+            if (criteria.minSalary() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("salary"), criteria.minSalary()));
+            }
+            if (criteria.maxSalary() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("salary"), criteria.maxSalary()));
+            }
+            if (hasText(criteria.name())) {
+                predicates.add(cb.like(root.get("name"), prefix(criteria.name()), '\\'));
+            }
+            if (hasText(criteria.email())) {
+                predicates.add(cb.like(root.get("email"), prefix(criteria.email()), '\\'));
+            }
+            addRange(predicates, cb, root.get("createdAt"), criteria.createdFrom(), criteria.createdTo());
+            addRange(predicates, cb, root.get("updatedAt"), criteria.updatedFrom(), criteria.updatedTo());
+
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    private static void addRange(List<Predicate> predicates,
+                                 CriteriaBuilder cb,
+                                 Path<LocalDateTime> path,
+                                 LocalDateTime from,
+                                 LocalDateTime to) {
+        if (from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(path, from));
+        }
+        if (to != null) {
+            predicates.add(cb.lessThan(path, to));
+        }
+    }
+
+    // "jo" -> "jo%", with LIKE wildcards in the input escaped
+    private static String prefix(String value) {
+        return value.trim()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
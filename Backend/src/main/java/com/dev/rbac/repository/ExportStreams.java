@@ -0,0 +1,47 @@
+package com.dev.rbac.repository;
+
+import com.dev.rbac.dto.UserSummary;
+import com.dev.rbac.model.Employee;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.util.stream.Stream;
+
+/**
+ * Forward-only result streams for the NDJSON exports. Their fetch size is a
+ * per-query hint instead of the connection-wide {@code useCursorFetch}, which
+ * switched every query to server-side prepared statements. With MySQL
+ * Connector/J, {@link Integer#MIN_VALUE} (the default) streams rows one at a
+ * time, and the connection runs nothing else until the stream is closed.
+ * Other drivers take a positive size; H2 rejects negative ones.
+ */
+@Repository
+public class ExportStreams {
+
+    private final EntityManager entityManager;
+    private final int fetchSize;
+
+    public ExportStreams(
+            EntityManager entityManager,
+            @Value("${export.fetch-size:-2147483648}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.fetchSize = fetchSize;
+    }
+
+    public Stream<Employee> employees() {
+        return entityManager.createQuery("SELECT e FROM Employee e ORDER BY e.id", Employee.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    // plain columns, no entities and no role graph
+    public Stream<UserSummary> userSummaries() {
+        return entityManager.createQuery(
+                        "SELECT new com.dev.rbac.dto.UserSummary(u.id, u.username, u.email, u.enabled, u.createdAt, u.updatedAt) " +
+                        "FROM User u ORDER BY u.id", UserSummary.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+}
@@ -1,14 +1,25 @@
 package com.dev.rbac.repository;
 
 import com.dev.rbac.model.Permission;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PermissionRepository extends JpaRepository<Permission, Long> {
+    // Query cache, invalidated by Hibernate whenever the table is written
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Permission> findByName(String name);
     List<Permission> findByResource(String resource);
+    List<Permission> findByNameIn(Collection<String> names);
+
+    // Keyset paging, seeks past the last seen id instead of skipping rows
+    List<Permission> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
@@ -1,8 +1,23 @@
 package com.dev.rbac.repository;
 
+import com.dev.rbac.dto.VersionStamp;
 import com.dev.rbac.model.Project;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface ProjectRepository extends JpaRepository<Project, Long> {
     boolean existsByName(String name);
+
+    // Keyset paging, seeks past the last seen id instead of skipping rows
+    List<Project> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Conditional GET validator of one row, collections use their table_versions counter
+    @Query("SELECT new com.dev.rbac.dto.VersionStamp(COUNT(p), MAX(p.id), MAX(COALESCE(p.updatedAt, p.createdAt)), " +
+           "SUM(COALESCE(p.revision, 0L))) " +
+           "FROM Project p WHERE p.id = :id")
+    VersionStamp findVersionById(@Param("id") Long id);
 }
@@ -1,13 +1,25 @@
 package com.dev.rbac.repository;
 
 import com.dev.rbac.model.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.List;
 
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
+    // Query cache, invalidated by Hibernate whenever the table is written
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Role> findByName(String name);
     Boolean existsByName(String name);
-}
\ No newline at end of file
+    List<Role> findByNameIn(Collection<String> names);
+
+    // Keyset paging, seeks past the last seen id instead of skipping rows
+    List<Role> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+}
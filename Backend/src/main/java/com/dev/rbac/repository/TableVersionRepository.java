@@ -0,0 +1,35 @@
+package com.dev.rbac.repository;
+
+import com.dev.rbac.dto.VersionStamp;
+import com.dev.rbac.model.TableVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Per-table write counters. Each statement touches the one row of its
+ * table, so concurrent writers serialize on that row and revalidation
+ * is a primary key read.
+ */
+public interface TableVersionRepository extends JpaRepository<TableVersion, String> {
+
+    @Query("SELECT new com.dev.rbac.dto.VersionStamp(v.updatedAt, v.version) " +
+           "FROM TableVersion v WHERE v.tableName = :table")
+    VersionStamp findVersion(@Param("table") String table);
+
+    @Modifying
+    @Query(value = "INSERT INTO table_versions (table_name, version, updated_at) " +
+                   "VALUES (:table, 1, CURRENT_TIMESTAMP) " +
+                   "ON DUPLICATE KEY UPDATE version = version + 1, updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    void bump(@Param("table") String table);
+
+    // leaves an existing counter as it is
+    @Modifying
+    @Query(value = "INSERT INTO table_versions (table_name, version, updated_at) " +
+                   "VALUES (:table, 0, CURRENT_TIMESTAMP) " +
+                   "ON DUPLICATE KEY UPDATE version = version",
+           nativeQuery = true)
+    void seed(@Param("table") String table);
+}
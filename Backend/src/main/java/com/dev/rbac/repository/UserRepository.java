@@ -1,21 +1,108 @@
 package com.dev.rbac.repository;
 
+import com.dev.rbac.dto.UserSummary;
+import com.dev.rbac.dto.VersionStamp;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import com.dev.rbac.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
+
+    // User with roles and permissions in one select (authentication)
+    @EntityGraph("User.authorities")
+    Optional<User> findWithAuthoritiesByUsername(String username);
+
+    // Same graph for a whole batch of usernames (authorization checks)
+    @EntityGraph("User.authorities")
+    List<User> findWithAuthoritiesByUsernameIn(Collection<String> usernames);
+
     Optional<User> findByEmail(String email);
     Boolean existsByUsername(String username);
     Boolean existsByEmail(String email);
     
+    // Set-based uniqueness check for bulk provisioning
+    @Query("SELECT u.username AS username, u.email AS email FROM User u " +
+           "WHERE u.username IN :usernames OR u.email IN :emails")
+    List<Identity> findExistingIdentities(@Param("usernames") Collection<String> usernames,
+                                          @Param("emails") Collection<String> emails);
+
     @Query("SELECT u FROM User u JOIN u.roles r WHERE r.name = :roleName")
     List<User> findByRoleName(@Param("roleName") String roleName);
+
+    // One row per (role, permission) pair, everything login needs in a single round trip
+    @Query("SELECT u.username AS username, u.password AS password, u.enabled AS enabled, " +
+           "r.name AS roleName, p.name AS permissionName " +
+           "FROM User u LEFT JOIN u.roles r LEFT JOIN r.permissions p " +
+           "WHERE u.username = :username ORDER BY r.id")
+    List<LoginRow> findLoginRowsByUsername(@Param("username") String username);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password WHERE u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
+
+    @Query("SELECT u.username FROM User u JOIN u.roles r WHERE r.id = :roleId")
+    List<String> findUsernamesByRoleId(@Param("roleId") Long roleId);
+
+    @Query("SELECT DISTINCT u.username FROM User u JOIN u.roles r JOIN r.permissions p WHERE p.id = :permissionId")
+    List<String> findUsernamesByPermissionId(@Param("permissionId") Long permissionId);
+
+    interface LoginRow {
+        String getUsername();
+        String getPassword();
+        boolean isEnabled();
+        String getRoleName();
+        String getPermissionName();
+    }
+
+    /* List view: plain columns, roles fetched separately for the whole page */
+
+    @Query(value = "SELECT new com.dev.rbac.dto.UserSummary(u.id, u.username, u.email, u.enabled, u.createdAt, u.updatedAt) " +
+                   "FROM User u",
+           countQuery = "SELECT count(u) FROM User u")
+    Page<UserSummary> findSummaries(Pageable pageable);
+
+    // Keyset paging, seeks past the last seen id instead of skipping rows
+    @Query("SELECT new com.dev.rbac.dto.UserSummary(u.id, u.username, u.email, u.enabled, u.createdAt, u.updatedAt) " +
+           "FROM User u WHERE u.id > :after ORDER BY u.id")
+    List<UserSummary> findSummariesAfter(@Param("after") Long after, Limit limit);
+
+    @Query("SELECT new com.dev.rbac.dto.UserSummary(u.id, u.username, u.email, u.enabled, u.createdAt, u.updatedAt) " +
+           "FROM User u WHERE u.id = :id")
+    Optional<UserSummary> findSummaryById(@Param("id") Long id);
+
+    @Query("SELECT u.id AS userId, r.id AS roleId, r.name AS roleName " +
+           "FROM User u JOIN u.roles r WHERE u.id IN :userIds")
+    List<UserRoleRow> findRoleRowsByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    // Conditional GET validator of one row, collections use their table_versions counter
+    @Query("SELECT new com.dev.rbac.dto.VersionStamp(COUNT(u), MAX(u.id), MAX(COALESCE(u.updatedAt, u.createdAt)), " +
+           "SUM(COALESCE(u.revision, 0L))) " +
+           "FROM User u WHERE u.id = :id")
+    VersionStamp findVersionById(@Param("id") Long id);
+
+    interface UserRoleRow {
+        Long getUserId();
+        Long getRoleId();
+        String getRoleName();
+    }
+
+    interface Identity {
+        String getUsername();
+        String getEmail();
+    }
 }
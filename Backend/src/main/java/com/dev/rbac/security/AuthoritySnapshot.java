@@ -0,0 +1,42 @@
+package com.dev.rbac.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Set;
+
+/**
+ * Immutable view of what the JWT filter needs to know about a user.
+ * Built once per cache load and shared by every request of that user;
+ * the principal carries no password hash.
+ */
+public record AuthoritySnapshot(
+        String username,
+        boolean enabled,
+        Set<GrantedAuthority> authorities,
+        PermissionBits permissions,
+        long version,
+        AuthorizedUser principal
+) {
+
+    public static AuthoritySnapshot of(UserDetails userDetails, PermissionBits permissions, long version) {
+        Set<GrantedAuthority> authorities = Set.copyOf(userDetails.getAuthorities());
+
+        AuthorizedUser principal = new AuthorizedUser(
+                userDetails.getUsername(),
+                "",
+                userDetails.isEnabled(),
+                authorities,
+                permissions
+        );
+
+        return new AuthoritySnapshot(
+                userDetails.getUsername(),
+                userDetails.isEnabled(),
+                authorities,
+                permissions,
+                version,
+                principal
+        );
+    }
+}
@@ -0,0 +1,190 @@
+package com.dev.rbac.security;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded per-user cache of {@link AuthoritySnapshot}s in front of
+ * {@link UserDetailsService#loadUserByUsername(String)}.
+ * Entries are dropped after commit of any change published as an
+ * {@link AuthorizationChangedEvent}.
+ *
+ * Concurrent misses on one user share a single load. The load runs
+ * outside the cache's map lock, so a virtual thread waiting on the
+ * database never pins its carrier. A load that overlaps an invalidation
+ * is not kept.
+ *
+ * Bulk lookups also remember names that matched no user for a short TTL,
+ * or until an {@link AuthorizationChangedEvent} names them.
+ */
+@Component
+public class AuthoritySnapshotCache {
+
+    private final UserDetailsService userDetailsService;
+    private final PermissionIndex permissionIndex;
+    private final AsyncCache<String, AuthoritySnapshot> cache;
+    private final Cache<String, Boolean> unknown;
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public AuthoritySnapshotCache(
+            UserDetailsService userDetailsService,
+            PermissionIndex permissionIndex,
+            @Value("${auth.cache.max-size:10000}") long maxSize,
+            @Value("${auth.cache.unknown-ttl-ms:5000}") long unknownTtlMillis) {
+        this.userDetailsService = userDetailsService;
+        this.permissionIndex = permissionIndex;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .buildAsync();
+        this.unknown = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(unknownTtlMillis))
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    // the loader only parks an empty future in the map, the caller that placed
+    // it runs the load and every other caller waits on that future
+    public AuthoritySnapshot get(String username) {
+        long seen = invalidations.get();
+        CompletableFuture<AuthoritySnapshot> pending = new CompletableFuture<>();
+        CompletableFuture<AuthoritySnapshot> snapshot = cache.get(username, (key, executor) -> pending);
+
+        if (snapshot == pending) {
+            try {
+                pending.complete(load(username));
+            } catch (RuntimeException e) {
+                // failed futures are dropped by the cache
+                pending.completeExceptionally(e);
+                throw e;
+            }
+            // an invalidation that started during the load may have missed the entry
+            if (invalidations.get() != seen) {
+                cache.asMap().remove(username, pending);
+            }
+        }
+        return join(snapshot);
+    }
+
+    private static AuthoritySnapshot join(CompletableFuture<AuthoritySnapshot> snapshot) {
+        try {
+            return snapshot.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Snapshots of the known users among the names. Misses are loaded together by one
+    // bulkLoader call, which leaves out names without a user; those are then
+    // remembered as unknown, so repeating them runs no query until the TTL ends
+    public Map<String, AuthoritySnapshot> getAll(Collection<String> usernames,
+                                                 Function<Set<String>, ? extends Collection<? extends UserDetails>> bulkLoader) {
+        Set<String> candidates = new HashSet<>(usernames);
+        candidates.removeAll(unknown.getAllPresent(candidates).keySet());
+        if (candidates.isEmpty()) {
+            return Map.of();
+        }
+
+        long seen = invalidations.get();
+        Set<String> missing = new HashSet<>();
+        CompletableFuture<Map<String, AuthoritySnapshot>> pending = new CompletableFuture<>();
+        CompletableFuture<Map<String, AuthoritySnapshot>> snapshots = cache.getAll(candidates, (keys, executor) -> {
+            missing.addAll(keys);
+            return pending;
+        });
+
+        if (!missing.isEmpty()) {
+            Map<String, AuthoritySnapshot> loaded = new HashMap<>();
+            try {
+                for (UserDetails userDetails : bulkLoader.apply(missing)) {
+                    loaded.put(userDetails.getUsername(), snapshot(userDetails));
+                }
+            } catch (RuntimeException e) {
+                pending.completeExceptionally(e);
+                throw e;
+            }
+            pending.complete(loaded);
+
+            if (invalidations.get() != seen) {
+                cache.synchronous().invalidateAll(loaded.keySet());
+            } else {
+                for (String username : missing) {
+                    if (!loaded.containsKey(username)) {
+                        unknown.put(username, Boolean.TRUE);
+                    }
+                }
+            }
+        }
+        try {
+            return snapshots.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private AuthoritySnapshot load(String username) {
+        return snapshot(userDetailsService.loadUserByUsername(username));
+    }
+
+    private AuthoritySnapshot snapshot(UserDetails userDetails) {
+        PermissionBits permissions = userDetails instanceof AuthorizedUser authorizedUser
+                ? authorizedUser.getPermissionBits()
+                : permissionIndex.compile(userDetails.getAuthorities());
+
+        return AuthoritySnapshot.of(userDetails, permissions, versions.incrementAndGet());
+    }
+
+    /* Invalidation */
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorizationChanged(AuthorizationChangedEvent event) {
+        invalidations.incrementAndGet();
+        cache.synchronous().invalidateAll(event.usernames());
+        unknown.invalidateAll(event.usernames());
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.synchronous().invalidateAll();
+        unknown.invalidateAll();
+    }
+
+    /* Stats */
+
+    public Stats stats() {
+        CacheStats stats = cache.synchronous().stats();
+        return new Stats(
+                stats.hitCount(),
+                stats.missCount(),
+                stats.evictionCount(),
+                cache.synchronous().estimatedSize()
+        );
+    }
+
+    public record Stats(long hits, long misses, long evictions, long size) {}
+}
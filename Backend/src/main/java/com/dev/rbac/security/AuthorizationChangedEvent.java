@@ -0,0 +1,19 @@
+package com.dev.rbac.security;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Published by the services whenever the roles or permissions reachable
+ * from a set of users change. Listeners run after the transaction commits.
+ */
+public record AuthorizationChangedEvent(Set<String> usernames) {
+
+    public AuthorizationChangedEvent(Collection<String> usernames) {
+        this(Set.copyOf(usernames));
+    }
+
+    public static AuthorizationChangedEvent of(String username) {
+        return new AuthorizationChangedEvent(Set.of(username));
+    }
+}
@@ -0,0 +1,66 @@
+package com.dev.rbac.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user authorization epoch, embedded in every issued token as the
+ * {@code epoch} claim. Bumped after commit whenever a user's roles or
+ * permissions change, so stateless tokens minted before the change stop
+ * matching without a database lookup.
+ *
+ * Only users that changed since startup have an entry, every other user
+ * reads the per-boot base. The base is the start time in microseconds, so
+ * it is above any epoch handed out by an earlier boot (that would take more
+ * than one bump per microsecond of uptime) and a token revoked by a bump
+ * stays revoked across restarts. The price is that a restart also retires
+ * every stateless token issued before it. The table lives in this JVM:
+ * other instances do not see bumps.
+ */
+@Component
+public class AuthorizationEpochs {
+
+    private final ConcurrentMap<String, Long> epochs = new ConcurrentHashMap<>();
+    private final long base;
+
+    // Bumped on any change, seeded with the start time so it never repeats across restarts
+    private final AtomicLong generation;
+
+    @Autowired
+    public AuthorizationEpochs() {
+        this(Clock.systemUTC());
+    }
+
+    public AuthorizationEpochs(Clock clock) {
+        long now = clock.millis();
+        this.base = now * 1000;
+        this.generation = new AtomicLong(now);
+    }
+
+    public long current(String username) {
+        return epochs.getOrDefault(username, base);
+    }
+
+    public boolean isCurrent(String username, long epoch) {
+        return current(username) == epoch;
+    }
+
+    // Version of the whole role/permission graph, for validators of responses that embed it
+    public long generation() {
+        return generation.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorizationChanged(AuthorizationChangedEvent event) {
+        for (String username : event.usernames()) {
+            epochs.merge(username, base + 1, (epoch, bumped) -> epoch + 1);
+        }
+        generation.incrementAndGet();
+    }
+}
@@ -0,0 +1,30 @@
+package com.dev.rbac.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * {@link User} that also carries its effective authorities as
+ * {@link PermissionBits}, so {@code hasAuthority} can be answered with a bit
+ * test by {@link PermissionBitsExpressionHandler}.
+ */
+public class AuthorizedUser extends User {
+
+    private final PermissionBits permissionBits;
+
+    public AuthorizedUser(
+            String username,
+            String password,
+            boolean enabled,
+            Collection<? extends GrantedAuthority> authorities,
+            PermissionBits permissionBits) {
+        super(username, password, enabled, true, true, true, authorities);
+        this.permissionBits = permissionBits;
+    }
+
+    public PermissionBits getPermissionBits() {
+        return permissionBits;
+    }
+}
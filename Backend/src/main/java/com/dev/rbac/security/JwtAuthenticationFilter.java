@@ -1,29 +1,55 @@
 package com.dev.rbac.security;
 
+import com.dev.rbac.security.SecurityMetrics.FilterStage;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final AuthoritySnapshotCache authoritySnapshotCache;
+    private final AuthorizationEpochs authorizationEpochs;
+    private final TokenRevocationService tokenRevocationService;
+    private final SecurityMetrics metrics;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    // Stateless mode trusts the role/permission claims and never touches the database
+    private final boolean stateless;
+
+    public JwtAuthenticationFilter(
+            JwtService jwtService,
+            VerifiedTokenCache verifiedTokenCache,
+            AuthoritySnapshotCache authoritySnapshotCache,
+            AuthorizationEpochs authorizationEpochs,
+            TokenRevocationService tokenRevocationService,
+            SecurityMetrics metrics,
+            @Value("${jwt.stateless:false}") boolean stateless) {
         this.jwtService = jwtService;
-        this.userDetailsService = userDetailsService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.authoritySnapshotCache = authoritySnapshotCache;
+        this.authorizationEpochs = authorizationEpochs;
+        this.tokenRevocationService = tokenRevocationService;
+        this.metrics = metrics;
+        this.stateless = stateless;
     }
 
     @Override
@@ -32,9 +58,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain) throws ServletException, IOException {
         
+        long start = System.nanoTime();
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String username;
+        final VerifiedToken token;
         
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -42,21 +69,81 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         
         jwt = authHeader.substring(7);
-        username = jwtService.extractUsername(jwt);
+        metrics.record(FilterStage.HEADER, start);
+
+        // One parse verifies signature and expiry, an invalid token leaves the request anonymous
+        start = System.nanoTime();
+        try {
+            token = verifiedTokenCache.verify(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            metrics.record(FilterStage.VERIFY, start);
+            filterChain.doFilter(request, response);
+            return;
+        }
+        boolean revoked = tokenRevocationService.isRevoked(token);
+        metrics.record(FilterStage.VERIFY, start);
         
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-            
-            if (jwtService.validateToken(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
+        if (revoked) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        if (token.subject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UsernamePasswordAuthenticationToken authToken = stateless
+                    ? authenticateFromClaims(token)
+                    : authenticateFromSnapshot(token);
+
+            if (authToken != null) {
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
         filterChain.doFilter(request, response);
     }
+
+    private UsernamePasswordAuthenticationToken authenticateFromSnapshot(VerifiedToken token) {
+        long start = System.nanoTime();
+        AuthoritySnapshot snapshot = authoritySnapshotCache.get(token.subject());
+        UserDetails userDetails = snapshot.principal();
+        metrics.record(FilterStage.USER_LOAD, start);
+
+        if (!snapshot.enabled() || !jwtService.validateToken(token, userDetails)) {
+            return null;
+        }
+
+        // authorities were built once per snapshot, this is only the token
+        start = System.nanoTime();
+        UsernamePasswordAuthenticationToken authToken =
+                new UsernamePasswordAuthenticationToken(userDetails, null, snapshot.authorities());
+        metrics.record(FilterStage.AUTHORITIES, start);
+        return authToken;
+    }
+
+    private UsernamePasswordAuthenticationToken authenticateFromClaims(VerifiedToken token) {
+        // no user row in stateless mode, the epoch check stands in for the load
+        long start = System.nanoTime();
+        boolean current = authorizationEpochs.isCurrent(token.subject(), token.epoch());
+        metrics.record(FilterStage.USER_LOAD, start);
+        if (!current) {
+            return null;
+        }
+
+        start = System.nanoTime();
+        List<GrantedAuthority> authorities = new ArrayList<>(token.roles().size() + token.permissions().size());
+        for (String role : token.roles()) {
+            authorities.add(new SimpleGrantedAuthority("ROLE_" + role));
+        }
+        for (String permission : token.permissions()) {
+            authorities.add(new SimpleGrantedAuthority(permission));
+        }
+
+        UserDetails userDetails = User.withUsername(token.subject())
+                .password("")
+                .authorities(authorities)
+                .build();
+        UsernamePasswordAuthenticationToken authToken =
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        metrics.record(FilterStage.AUTHORITIES, start);
+        return authToken;
+    }
 }
\ No newline at end of file
@@ -1,27 +1,68 @@
 package com.dev.rbac.security;
 
+import com.dev.rbac.service.ConfigurationService;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    // Both are immutable and thread-safe, built once instead of per call
+    private final Key signKey;
+    private final JwtParser parser;
 
-    @Value("${jwt.expiration}")
-    private Long expiration;
+    private final Supplier<Duration> expiration;
+
+    // Token lifetime is read per issued token, the "jwt.expiration" configuration row
+    // overrides the property without a restart
+    @Autowired
+    public JwtService(
+            @Value("${jwt.secret}") String secret,
+            @Value("${jwt.expiration}") Long expiration,
+            ConfigurationService configurationService) {
+        this(secret, () -> configurationService.getDuration("jwt.expiration", Duration.ofMillis(expiration)));
+    }
+
+    // Fixed lifetime, for use outside the application context
+    public JwtService(String secret, Long expiration) {
+        this(secret, () -> Duration.ofMillis(expiration));
+    }
+
+    private JwtService(String secret, Supplier<Duration> expiration) {
+        this.signKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signKey)
+                .build();
+        this.expiration = expiration;
+    }
+
+    /* Verification */
+
+    /**
+     * Parses and verifies the token once. Signature and expiry are checked
+     * by the parser, a {@link JwtException} is thrown for any invalid token.
+     */
+    public VerifiedToken verify(String token) throws JwtException {
+        return VerifiedToken.from(extractAllClaims(token));
+    }
 
     /* Claim Extraction */
 
@@ -33,6 +74,11 @@ public class JwtService {
         return extractAllClaims(token).get("role", String.class);
     }
 
+    @SuppressWarnings("unchecked")
+    public List<String> extractRoles(String token) {
+        return extractAllClaims(token).get("roles", List.class);
+    }
+
     @SuppressWarnings("unchecked")
     public List<String> extractPermissions(String token) {
         return extractAllClaims(token).get("permissions", List.class);
@@ -48,53 +94,55 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return parser.parseClaimsJws(token).getBody();
     }
 
     /* TOKEN GENERATION  */
 
+    /**
+     * The epoch must be read from {@link AuthorizationEpochs} before the
+     * user's roles are loaded, so a concurrent change can only make the
+     * token stale, never current with outdated claims.
+     *
+     * Every role goes into the {@code roles} claim, which stateless mode
+     * grants in full; {@code role} holds the first one for display.
+     */
     public String generateToken(
             String username,
-            String role,
-            List<String> permissions
+            List<String> roles,
+            List<String> permissions,
+            long epoch
     ) {
         Map<String, Object> claims = Map.of(
-                "role", role,
-                "permissions", permissions
+                "role", roles.get(0),
+                "roles", roles,
+                "permissions", permissions,
+                "epoch", epoch
         );
 
         return createToken(claims, username);
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignKey(), SignatureAlgorithm.HS256)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expiration.get().toMillis()))
+                .signWith(signKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     //Validation
 
     public boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return username.equals(userDetails.getUsername())
-                && !isTokenExpired(token);
+        return validateToken(verify(token), userDetails);
     }
 
-    //Sign key
-
-    private Key getSignKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    public boolean validateToken(VerifiedToken token, UserDetails userDetails) {
+        return token.subject().equals(userDetails.getUsername())
+                && !token.isExpired();
     }
 }
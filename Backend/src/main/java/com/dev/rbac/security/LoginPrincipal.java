@@ -0,0 +1,48 @@
+package com.dev.rbac.security;
+
+import com.dev.rbac.repository.UserRepository.LoginRow;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Everything the login flow needs about a user, assembled from the rows of
+ * {@link com.dev.rbac.repository.UserRepository#findLoginRowsByUsername}.
+ * Used for both the password check and the token claims.
+ */
+public record LoginPrincipal(
+        String username,
+        String passwordHash,
+        boolean enabled,
+        List<String> roles,
+        List<String> permissions
+) {
+
+    public static Optional<LoginPrincipal> from(List<LoginRow> rows) {
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Set<String> roles = new LinkedHashSet<>();
+        Set<String> permissions = new LinkedHashSet<>();
+        for (LoginRow row : rows) {
+            if (row.getRoleName() != null) {
+                roles.add(row.getRoleName());
+            }
+            if (row.getPermissionName() != null) {
+                permissions.add(row.getPermissionName());
+            }
+        }
+
+        LoginRow first = rows.get(0);
+        return Optional.of(new LoginPrincipal(
+                first.getUsername(),
+                first.getPassword(),
+                first.isEnabled(),
+                List.copyOf(roles),
+                List.copyOf(permissions)
+        ));
+    }
+}
@@ -0,0 +1,66 @@
+package com.dev.rbac.security;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable bitset over the dense indexes handed out by {@link PermissionIndex}.
+ * A membership check is a single bit test.
+ */
+public final class PermissionBits implements Serializable {
+
+    public static final PermissionBits EMPTY = new PermissionBits(new long[0]);
+
+    private final long[] words;
+
+    private PermissionBits(long[] words) {
+        this.words = words;
+    }
+
+    public static PermissionBits of(int... indexes) {
+        int max = -1;
+        for (int index : indexes) {
+            max = Math.max(max, index);
+        }
+        long[] words = new long[(max >> 6) + 1];
+        for (int index : indexes) {
+            words[index >> 6] |= 1L << index;
+        }
+        return new PermissionBits(words);
+    }
+
+    public boolean has(int index) {
+        int word = index >> 6;
+        return index >= 0 && word < words.length && (words[word] & (1L << index)) != 0;
+    }
+
+    public PermissionBits or(PermissionBits other) {
+        if (other.words.length > words.length) {
+            return other.or(this);
+        }
+        long[] result = Arrays.copyOf(words, words.length);
+        for (int i = 0; i < other.words.length; i++) {
+            result[i] |= other.words[i];
+        }
+        return new PermissionBits(result);
+    }
+
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < words.length; i++) {
+            long word = words[i];
+            while (word != 0) {
+                action.accept((i << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.dev.rbac.security;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.core.Authentication;
+
+import java.util.function.Supplier;
+
+/**
+ * Method security expression handler whose {@code hasAuthority} and
+ * {@code hasRole} checks (and their "any" forms) are bit tests against the caller's
+ * {@link PermissionBits} when the principal is an {@link AuthorizedUser}.
+ * Every other expression, and principals without bits, fall through to the
+ * standard Spring Security root. Each authority check is timed per
+ * authority and outcome through {@link SecurityMetrics}.
+ */
+public class PermissionBitsExpressionHandler extends DefaultMethodSecurityExpressionHandler {
+
+    private final PermissionIndex permissionIndex;
+    private final SecurityMetrics metrics;
+
+    public PermissionBitsExpressionHandler(PermissionIndex permissionIndex, SecurityMetrics metrics) {
+        this.permissionIndex = permissionIndex;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public EvaluationContext createEvaluationContext(Supplier<Authentication> authentication, MethodInvocation mi) {
+        StandardEvaluationContext context = (StandardEvaluationContext) super.createEvaluationContext(authentication, mi);
+        MethodSecurityExpressionOperations standard =
+                (MethodSecurityExpressionOperations) context.getRootObject().getValue();
+        context.setRootObject(new Root(standard, permissionIndex, metrics));
+        return context;
+    }
+
+    public static class Root implements MethodSecurityExpressionOperations {
+
+        private static final String ROLE_PREFIX = "ROLE_";
+
+        private final MethodSecurityExpressionOperations delegate;
+        private final PermissionIndex permissionIndex;
+        private final SecurityMetrics metrics;
+
+        Root(MethodSecurityExpressionOperations delegate, PermissionIndex permissionIndex, SecurityMetrics metrics) {
+            this.delegate = delegate;
+            this.permissionIndex = permissionIndex;
+            this.metrics = metrics;
+        }
+
+        private PermissionBits bits() {
+            Authentication authentication = delegate.getAuthentication();
+            return authentication != null && authentication.getPrincipal() instanceof AuthorizedUser user
+                    ? user.getPermissionBits()
+                    : null;
+        }
+
+        @Override
+        public boolean hasAuthority(String authority) {
+            long start = System.nanoTime();
+            PermissionBits bits = bits();
+            boolean allowed = bits != null
+                    ? bits.has(permissionIndex.indexOf(authority))
+                    : delegate.hasAuthority(authority);
+            metrics.recordDecision(authority, allowed, start);
+            return allowed;
+        }
+
+        @Override
+        public boolean hasAnyAuthority(String... authorities) {
+            long start = System.nanoTime();
+            boolean allowed = anyAuthority(authorities);
+            metrics.recordDecision(String.join("|", authorities), allowed, start);
+            return allowed;
+        }
+
+        private boolean anyAuthority(String... authorities) {
+            PermissionBits bits = bits();
+            if (bits == null) {
+                return delegate.hasAnyAuthority(authorities);
+            }
+            for (String authority : authorities) {
+                if (bits.has(permissionIndex.indexOf(authority))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /* Delegated */
+
+        @Override
+        public Authentication getAuthentication() {
+            return delegate.getAuthentication();
+        }
+
+        public Object getPrincipal() {
+            Authentication authentication = delegate.getAuthentication();
+            return authentication == null ? null : authentication.getPrincipal();
+        }
+
+        @Override
+        public boolean hasRole(String role) {
+            return hasAnyRole(role);
+        }
+
+        @Override
+        public boolean hasAnyRole(String... roles) {
+            long start = System.nanoTime();
+            boolean allowed = anyRole(roles);
+            metrics.recordDecision("ROLE:" + String.join("|", roles), allowed, start);
+            return allowed;
+        }
+
+        private boolean anyRole(String... roles) {
+            PermissionBits bits = bits();
+            if (bits == null) {
+                return delegate.hasAnyRole(roles);
+            }
+            for (String role : roles) {
+                String authority = role.startsWith(ROLE_PREFIX) ? role : ROLE_PREFIX + role;
+                if (bits.has(permissionIndex.indexOf(authority))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean permitAll() {
+            return delegate.permitAll();
+        }
+
+        @Override
+        public boolean denyAll() {
+            return delegate.denyAll();
+        }
+
+        @Override
+        public boolean isAnonymous() {
+            return delegate.isAnonymous();
+        }
+
+        @Override
+        public boolean isAuthenticated() {
+            return delegate.isAuthenticated();
+        }
+
+        @Override
+        public boolean isRememberMe() {
+            return delegate.isRememberMe();
+        }
+
+        @Override
+        public boolean isFullyAuthenticated() {
+            return delegate.isFullyAuthenticated();
+        }
+
+        @Override
+        public boolean hasPermission(Object target, Object permission) {
+            return delegate.hasPermission(target, permission);
+        }
+
+        @Override
+        public boolean hasPermission(Object targetId, String targetType, Object permission) {
+            return delegate.hasPermission(targetId, targetType, permission);
+        }
+
+        @Override
+        public void setFilterObject(Object filterObject) {
+            delegate.setFilterObject(filterObject);
+        }
+
+        @Override
+        public Object getFilterObject() {
+            return delegate.getFilterObject();
+        }
+
+        @Override
+        public void setReturnObject(Object returnObject) {
+            delegate.setReturnObject(returnObject);
+        }
+
+        @Override
+        public Object getReturnObject() {
+            return delegate.getReturnObject();
+        }
+
+        @Override
+        public Object getThis() {
+            return delegate.getThis();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.dev.rbac.security;
+
+import com.dev.rbac.model.Permission;
+import com.dev.rbac.model.Role;
+import com.dev.rbac.model.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Assigns every authority name ({@code ROLE_*} and permission names) a dense
+ * integer index and keeps one interned {@link GrantedAuthority} per index.
+ *
+ * Indexes are append-only and never reused, so a {@link PermissionBits}
+ * stays valid for as long as it is cached. A renamed or deleted permission
+ * simply leaves an unused index behind.
+ *
+ * Each role is compiled once and its bits are kept per role id until the
+ * next {@link AuthorizationChangedEvent}. Role and permission edits are
+ * rare, so any change drops all of them.
+ */
+@Component
+public class PermissionIndex {
+
+    private final ConcurrentMap<String, Integer> indexes = new ConcurrentHashMap<>();
+    private volatile GrantedAuthority[] authorities = new GrantedAuthority[64];
+    private int size;
+
+    private final ConcurrentMap<Long, PermissionBits> roleBits = new ConcurrentHashMap<>();
+    private final AtomicLong roleChanges = new AtomicLong();
+
+    /* Lookup */
+
+    public int indexOf(String authority) {
+        Integer index = indexes.get(authority);
+        return index == null ? -1 : index;
+    }
+
+    public int register(String authority) {
+        Integer index = indexes.get(authority);
+        if (index != null) {
+            return index;
+        }
+        synchronized (this) {
+            index = indexes.get(authority);
+            if (index != null) {
+                return index;
+            }
+            GrantedAuthority[] current = authorities;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, size * 2);
+            }
+            current[size] = new SimpleGrantedAuthority(authority);
+            authorities = current;
+            indexes.put(authority, size);
+            return size++;
+        }
+    }
+
+    public int size() {
+        return indexes.size();
+    }
+
+    /* Compilation */
+
+    public PermissionBits compile(Role role) {
+        int[] bits = new int[role.getPermissions().size() + 1];
+        int i = 0;
+        bits[i++] = register("ROLE_" + role.getName());
+        for (Permission permission : role.getPermissions()) {
+            bits[i++] = register(permission.getName());
+        }
+        return PermissionBits.of(bits);
+    }
+
+    // ROLE_ and permission authorities of every role, OR-ed into one bitset
+    public PermissionBits compile(User user) {
+        return compile(user, roleChanges.get());
+    }
+
+    /**
+     * As {@link #compile(User)}, for roles loaded from the database after
+     * {@link #roleChanges()} returned {@code seenRoleChanges}. Roles compiled
+     * from a load that overlapped a change are used but not kept.
+     */
+    public PermissionBits compile(User user, long seenRoleChanges) {
+        PermissionBits permissions = PermissionBits.EMPTY;
+        for (Role role : user.getRoles()) {
+            permissions = permissions.or(cached(role, seenRoleChanges));
+        }
+        return permissions;
+    }
+
+    private PermissionBits cached(Role role, long seenRoleChanges) {
+        if (role.getId() == null) {
+            return compile(role);
+        }
+        PermissionBits bits = roleBits.get(role.getId());
+        if (bits != null) {
+            return bits;
+        }
+
+        bits = compile(role);
+        if (roleChanges.get() == seenRoleChanges) {
+            roleBits.put(role.getId(), bits);
+            // a change that cleared the map during the put must not be missed
+            if (roleChanges.get() != seenRoleChanges) {
+                roleBits.remove(role.getId());
+            }
+        }
+        return bits;
+    }
+
+    public long roleChanges() {
+        return roleChanges.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorizationChanged(AuthorizationChangedEvent event) {
+        roleChanges.incrementAndGet();
+        roleBits.clear();
+    }
+
+    public PermissionBits compile(Collection<? extends GrantedAuthority> grantedAuthorities) {
+        return PermissionBits.of(grantedAuthorities.stream()
+                .mapToInt(authority -> register(authority.getAuthority()))
+                .toArray());
+    }
+
+    /* Interned authority objects for Spring Security, no fresh allocations per load */
+    public Set<GrantedAuthority> authorities(PermissionBits bits) {
+        GrantedAuthority[] interned = authorities;
+        GrantedAuthority[] result = new GrantedAuthority[bits.cardinality()];
+        int[] next = {0};
+        bits.forEach(index -> result[next[0]++] = interned[index]);
+        return Set.of(result);
+    }
+}
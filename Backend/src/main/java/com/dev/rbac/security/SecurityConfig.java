@@ -3,6 +3,7 @@ package com.dev.rbac.security;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -48,6 +49,10 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/public/**").permitAll()
+                // error dispatches keep their real status instead of turning into 403
+                .requestMatchers("/error").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
 
@@ -72,6 +77,14 @@ public class SecurityConfig {
         return source;
     }
 
+    // hasAuthority/hasRole in @PreAuthorize become bit tests on AuthorizedUser principals
+    @Bean
+    static MethodSecurityExpressionHandler methodSecurityExpressionHandler(
+            PermissionIndex permissionIndex,
+            SecurityMetrics securityMetrics) {
+        return new PermissionBitsExpressionHandler(permissionIndex, securityMetrics);
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(
             AuthenticationConfiguration authenticationConfiguration
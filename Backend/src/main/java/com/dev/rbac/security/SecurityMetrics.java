@@ -0,0 +1,88 @@
+package com.dev.rbac.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers for the authentication and authorization hot paths:
+ * <ul>
+ *   <li>{@code rbac.auth.filter{stage}}: header parse, JWT verify, user load and
+ *       authority build in {@link JwtAuthenticationFilter}</li>
+ *   <li>{@code rbac.auth.login{stage}}: password verify and token build</li>
+ *   <li>{@code rbac.authz.decision{authority,decision}}: each
+ *       {@code hasAuthority}/{@code hasRole} check of a {@code @PreAuthorize}</li>
+ *   <li>{@code rbac.authz.check}: one batch of {@code POST /api/authz/check}</li>
+ * </ul>
+ * Timers are registered once and recorded with {@link System#nanoTime()}
+ * deltas, so a request pays a clock read and an atomic add per stage.
+ */
+@Component
+public class SecurityMetrics {
+
+    public enum FilterStage { HEADER, VERIFY, USER_LOAD, AUTHORITIES }
+
+    public enum LoginStage { PASSWORD_VERIFY, TOKEN_BUILD }
+
+    private final MeterRegistry registry;
+    private final Map<FilterStage, Timer> filterTimers = new EnumMap<>(FilterStage.class);
+    private final Map<LoginStage, Timer> loginTimers = new EnumMap<>(LoginStage.class);
+    private final Timer batchCheckTimer;
+    // keyed by expression argument, bounded by the authorities named in annotations
+    private final Map<String, Timer> granted = new ConcurrentHashMap<>();
+    private final Map<String, Timer> denied = new ConcurrentHashMap<>();
+
+    public SecurityMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (FilterStage stage : FilterStage.values()) {
+            filterTimers.put(stage, Timer.builder("rbac.auth.filter")
+                    .description("JwtAuthenticationFilter stage latency")
+                    .tag("stage", tagValue(stage))
+                    .register(registry));
+        }
+        for (LoginStage stage : LoginStage.values()) {
+            loginTimers.put(stage, Timer.builder("rbac.auth.login")
+                    .description("Login stage latency")
+                    .tag("stage", tagValue(stage))
+                    .register(registry));
+        }
+        batchCheckTimer = Timer.builder("rbac.authz.check")
+                .description("Batch authorization check latency")
+                .register(registry);
+    }
+
+    public void record(FilterStage stage, long startNanos) {
+        filterTimers.get(stage).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void record(LoginStage stage, long startNanos) {
+        loginTimers.get(stage).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordBatchCheck(long startNanos) {
+        batchCheckTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordDecision(String authority, boolean allowed, long startNanos) {
+        Map<String, Timer> timers = allowed ? granted : denied;
+        Timer timer = timers.get(authority);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(authority, key -> Timer.builder("rbac.authz.decision")
+                    .description("@PreAuthorize authority check")
+                    .tag("authority", key)
+                    .tag("decision", allowed ? "granted" : "denied")
+                    .register(registry));
+        }
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String tagValue(Enum<?> stage) {
+        return stage.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,96 @@
+package com.dev.rbac.security;
+
+import com.dev.rbac.model.RevokedToken;
+import com.dev.rbac.repository.RevokedTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * jti denylist persisted in {@code revoked_tokens}. The request path only
+ * consults the in-memory bloom filter; the table is queried for the rare
+ * "maybe revoked" answers. Expired rows are pruned in the background and
+ * the filter is rebuilt from what is left, so neither grows unbounded.
+ */
+@Service
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedEntries;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter bloomFilter;
+    // not synchronized: both sections do JDBC, which would pin a virtual thread's carrier
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public TokenRevocationService(
+            RevokedTokenRepository revokedTokenRepository,
+            @Value("${jwt.revocation.expected-entries:100000}") long expectedEntries,
+            @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bloomFilter = new BloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        String jti = token.jti();
+        if (jti == null || !bloomFilter.mightContain(jti)) {
+            return false;
+        }
+        return revokedTokenRepository.existsByJti(jti);
+    }
+
+    // locked with rebuild() so a revocation is never lost in a filter swap
+    public void revoke(VerifiedToken token) {
+        lock.lock();
+        try {
+            if (token.jti() == null || revokedTokenRepository.existsByJti(token.jti())) {
+                return;
+            }
+
+            RevokedToken revoked = new RevokedToken();
+            revoked.setJti(token.jti());
+            revoked.setUsername(token.subject());
+            revoked.setExpiresAt(LocalDateTime.ofInstant(token.expiration().toInstant(), ZoneId.systemDefault()));
+            revokedTokenRepository.save(revoked);
+
+            bloomFilter.put(token.jti());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* Maintenance */
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.prune-interval-ms:600000}")
+    public void pruneExpired() {
+        revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        rebuild();
+    }
+
+    private void rebuild() {
+        lock.lock();
+        try {
+            List<String> active = revokedTokenRepository.findActiveJtis(LocalDateTime.now());
+
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, active.size() * 2L), falsePositiveRate);
+            active.forEach(rebuilt::put);
+            bloomFilter = rebuilt;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
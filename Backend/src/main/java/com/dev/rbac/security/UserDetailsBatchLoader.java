@@ -0,0 +1,15 @@
+package com.dev.rbac.security;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Bulk counterpart of {@code UserDetailsService}: the users behind a set of
+ * names in one round trip. Names without a user are left out of the result.
+ */
+public interface UserDetailsBatchLoader {
+
+    List<UserDetails> loadUsersByUsernames(Collection<String> usernames);
+}
@@ -0,0 +1,48 @@
+package com.dev.rbac.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Claims of a JWT whose signature and expiry have already been checked.
+ * Produced by {@link JwtService#verify(String)} from a single parse.
+ */
+public record VerifiedToken(
+        String subject,
+        Date expiration,
+        List<String> roles,
+        List<String> permissions,
+        long epoch,
+        String jti
+) {
+
+    public VerifiedToken {
+        roles = roles == null ? List.of() : List.copyOf(roles);
+        permissions = permissions == null ? List.of() : List.copyOf(permissions);
+    }
+
+    @SuppressWarnings("unchecked")
+    static VerifiedToken from(Claims claims) {
+        Long epoch = claims.get("epoch", Long.class);
+        List<String> roles = claims.get("roles", List.class);
+        String role = claims.get("role", String.class);
+        if (roles == null && role != null) {
+            roles = List.of(role);  // tokens issued before the roles claim
+        }
+
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.getExpiration(),
+                roles,
+                claims.get("permissions", List.class),
+                epoch == null ? -1 : epoch,  // tokens issued before epochs never match
+                claims.getId()
+        );
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
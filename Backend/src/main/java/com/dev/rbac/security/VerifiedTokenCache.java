@@ -0,0 +1,116 @@
+package com.dev.rbac.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional cache in front of {@link JwtService#verify(String)} keyed by the
+ * SHA-256 digest of the raw token, so repeat requests with the same bearer
+ * token skip decoding, JSON parsing and the signature check. The raw token
+ * is never retained, and no entry outlives the token's own {@code exp}.
+ * Only successfully verified tokens are cached.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtService jwtService;
+    private final boolean enabled;
+    private final Cache<Digest, VerifiedToken> cache;
+    private final MessageDigest sha256;
+
+    public VerifiedTokenCache(
+            JwtService jwtService,
+            @Value("${jwt.cache.enabled:false}") boolean enabled,
+            @Value("${jwt.cache.max-size:50000}") long maxSize) throws NoSuchAlgorithmException {
+        this.jwtService = jwtService;
+        this.enabled = enabled;
+        this.sha256 = MessageDigest.getInstance("SHA-256");
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+    }
+
+    public VerifiedToken verify(String token) throws JwtException {
+        if (!enabled) {
+            return jwtService.verify(token);
+        }
+
+        Digest digest = digest(token);
+        VerifiedToken cached = cache.getIfPresent(digest);
+        if (cached != null) {
+            return cached;
+        }
+
+        VerifiedToken verified = jwtService.verify(token);
+        cache.put(digest, verified);
+        return verified;
+    }
+
+    public void invalidate(String token) {
+        cache.invalidate(digest(token));
+    }
+
+    private Digest digest(String token) {
+        MessageDigest md;
+        try {
+            md = (MessageDigest) sha256.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+        ByteBuffer hash = ByteBuffer.wrap(md.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        return new Digest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+    }
+
+    /* Stats */
+
+    public Stats stats() {
+        CacheStats stats = cache.stats();
+        return new Stats(
+                enabled,
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                cache.estimatedSize()
+        );
+    }
+
+    public record Stats(boolean enabled, long hits, long misses, double hitRate, long evictions, long size) {}
+
+    private record Digest(long a, long b, long c, long d) {}
+
+    private static final class UntilTokenExpiry implements Expiry<Digest, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(Digest key, VerifiedToken token, long currentTime) {
+            if (token.expiration() == null) {
+                return 0;
+            }
+            long millis = token.expiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis));
+        }
+
+        @Override
+        public long expireAfterUpdate(Digest key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(Digest key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.dev.rbac.service;
+
+import com.dev.rbac.model.Configuration;
+import com.dev.rbac.repository.ConfigurationRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runtime settings from the configurations table. Readers get the current
+ * immutable {@link ConfigurationSnapshot} through a single volatile read,
+ * never a query and never a lock. A change detector compares
+ * {@code max(updated_at)}, the row count, the highest id and the sum of the
+ * per-row revisions with the snapshot and swaps in a freshly built one when
+ * the table moved, so edits made elsewhere show up within one refresh
+ * interval, even two within the same second.
+ */
+@Service
+@RequiredArgsConstructor
+public class ConfigurationService {
+
+    private final ConfigurationRepository configurationRepository;
+
+    private volatile ConfigurationSnapshot snapshot = ConfigurationSnapshot.EMPTY;
+    // a lock rather than synchronized, reload() queries and must not pin a virtual thread
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    @PostConstruct
+    void load() {
+        reload();
+    }
+
+    /* Read */
+
+    public ConfigurationSnapshot snapshot() {
+        return snapshot;
+    }
+
+    public String getString(String key, String defaultValue) {
+        return snapshot.getString(key, defaultValue);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        return snapshot.getInt(key, defaultValue);
+    }
+
+    public long getLong(String key, long defaultValue) {
+        return snapshot.getLong(key, defaultValue);
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        return snapshot.getBoolean(key, defaultValue);
+    }
+
+    public Duration getDuration(String key, Duration defaultValue) {
+        return snapshot.getDuration(key, defaultValue);
+    }
+
+    /* Update */
+
+    // Creates or replaces a key, the value is checked against its type before it is stored
+    public ConfigurationSnapshot.Entry update(String key, String value, String type, String description) {
+        if (value == null) {
+            throw new RuntimeException("Configuration value is required");
+        }
+
+        Configuration configuration = configurationRepository.findByKey(key)
+                .orElseGet(() -> {
+                    Configuration created = new Configuration();
+                    created.setKey(key);
+                    return created;
+                });
+
+        ConfigurationSnapshot.Type declared = ConfigurationSnapshot.Type.of(
+                type != null ? type : configuration.getType());
+        declared.parse(value);
+
+        configuration.setValue(value);
+        configuration.setType(declared.name());
+        if (description != null) {
+            configuration.setDescription(description);
+        }
+        configurationRepository.save(configuration);
+
+        return reload().entry(key)
+                .orElseThrow(() -> new RuntimeException("Configuration not found: " + key));
+    }
+
+    public void delete(String key) {
+        configurationRepository.findByKey(key).ifPresent(configurationRepository::delete);
+        reload();
+    }
+
+    /* Change detection */
+
+    @Scheduled(fixedDelayString = "${configuration.refresh-interval-ms:5000}")
+    public void refreshIfChanged() {
+        ConfigurationRepository.ChangeMarker marker = configurationRepository.findChangeMarker();
+        if (!snapshot.isCurrent(marker.getLastModified(), marker.getRowCount(), marker.getMaxId(), marker.getRevisions())) {
+            reload();
+        }
+    }
+
+    // Builds the new snapshot aside, readers keep the old one until the swap
+    private ConfigurationSnapshot reload() {
+        reloadLock.lock();
+        try {
+            ConfigurationSnapshot loaded = ConfigurationSnapshot.of(configurationRepository.findAll());
+            snapshot = loaded;
+            return loaded;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.dev.rbac.service;
+
+import com.dev.rbac.model.Configuration;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Immutable view of the configurations table. Values are parsed into their
+ * declared {@code config_type} once, when the snapshot is built, so reads
+ * are a map lookup and a cast.
+ */
+public final class ConfigurationSnapshot {
+
+    static final ConfigurationSnapshot EMPTY = of(List.of());
+
+    private final Map<String, Entry> entries;
+    private final Map<String, String> entryDigests;
+    private final LocalDateTime lastModified;
+    private final long rowCount;
+    private final Long maxId;
+    private final long revisions;
+    private final String contentDigest;
+
+    private ConfigurationSnapshot(Map<String, Entry> entries,
+                                  Map<String, String> entryDigests,
+                                  LocalDateTime lastModified,
+                                  long rowCount,
+                                  Long maxId,
+                                  long revisions) {
+        this.entries = entries;
+        this.entryDigests = entryDigests;
+        this.lastModified = lastModified;
+        this.rowCount = rowCount;
+        this.maxId = maxId;
+        this.revisions = revisions;
+        // entry digests in key order
+        this.contentDigest = digest(entryDigests.values().toArray());
+    }
+
+    static ConfigurationSnapshot of(List<Configuration> rows) {
+        Map<String, Entry> entries = new TreeMap<>();
+        Map<String, String> entryDigests = new TreeMap<>();
+        LocalDateTime lastModified = null;
+        Long maxId = null;
+        long revisions = 0;
+
+        for (Configuration row : rows) {
+            entries.put(row.getKey(), Entry.of(row));
+            entryDigests.put(row.getKey(), digest(row.getId(), row.getRevision(), row.getKey(), row.getValue(),
+                    row.getType(), row.getDescription(), row.getUpdatedAt()));
+            if (row.getUpdatedAt() != null && (lastModified == null || row.getUpdatedAt().isAfter(lastModified))) {
+                lastModified = row.getUpdatedAt();
+            }
+            if (row.getId() != null && (maxId == null || row.getId() > maxId)) {
+                maxId = row.getId();
+            }
+            revisions += row.getRevision() == null ? 0 : row.getRevision();
+        }
+        return new ConfigurationSnapshot(Collections.unmodifiableMap(entries), Collections.unmodifiableMap(entryDigests),
+                lastModified, rows.size(), maxId, revisions);
+    }
+
+    // Same change marker as the table: newest updated_at, row count and highest id
+    // (catch inserts and deletes) and the revision sum (updates within one second)
+    boolean isCurrent(LocalDateTime tableLastModified, long tableRowCount, Long tableMaxId, Long tableRevisions) {
+        return Objects.equals(lastModified, tableLastModified)
+                && rowCount == tableRowCount
+                && Objects.equals(maxId, tableMaxId)
+                && revisions == (tableRevisions == null ? 0 : tableRevisions);
+    }
+
+    public Collection<Entry> entries() {
+        return entries.values();
+    }
+
+    public Optional<Entry> entry(String key) {
+        return Optional.ofNullable(entries.get(key));
+    }
+
+    public LocalDateTime lastModified() {
+        return lastModified;
+    }
+
+    public long rowCount() {
+        return rowCount;
+    }
+
+    // SHA-256 over every row, changes with any key, value, type, description or revision
+    public String contentDigest() {
+        return contentDigest;
+    }
+
+    // SHA-256 of one row, null when the key is missing
+    public String entryDigest(String key) {
+        return entryDigests.get(key);
+    }
+
+    /* Typed reads, the default is returned when the key is missing or of another type */
+
+    public String getString(String key, String defaultValue) {
+        Entry entry = entries.get(key);
+        return entry == null ? defaultValue : entry.value();
+    }
+
+    public int getInt(String key, int defaultValue) {
+        return typed(key, Number.class, defaultValue, Number::intValue);
+    }
+
+    public long getLong(String key, long defaultValue) {
+        return typed(key, Number.class, defaultValue, Number::longValue);
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        return typed(key, Number.class, defaultValue, Number::doubleValue);
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        return typed(key, Boolean.class, defaultValue, Function.identity());
+    }
+
+    // DURATION rows, or INT/LONG rows read as milliseconds
+    public Duration getDuration(String key, Duration defaultValue) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.parsed() instanceof Number millis) {
+            return Duration.ofMillis(millis.longValue());
+        }
+        return typed(key, Duration.class, defaultValue, Function.identity());
+    }
+
+    private <T, R> R typed(String key, Class<T> type, R defaultValue, Function<T, R> convert) {
+        Entry entry = entries.get(key);
+        if (entry == null || !type.isInstance(entry.parsed())) {
+            return defaultValue;
+        }
+        return convert.apply(type.cast(entry.parsed()));
+    }
+
+    // length-prefixed, so no two field lists produce the same input
+    private static String digest(Object... fields) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            for (Object field : fields) {
+                String value = String.valueOf(field);
+                sha256.update((value.length() + ":" + value).getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(sha256.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /* Types */
+
+    public enum Type {
+        STRING, INT, LONG, DOUBLE, BOOLEAN, DURATION;
+
+        public static Type of(String name) {
+            if (name == null || name.isBlank()) {
+                return STRING;
+            }
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Unknown configuration type: " + name);
+            }
+        }
+
+        public Object parse(String value) {
+            String trimmed = value.trim();
+            try {
+                return switch (this) {
+                    case STRING -> value;
+                    case INT -> Integer.valueOf(trimmed);
+                    case LONG -> Long.valueOf(trimmed);
+                    case DOUBLE -> Double.valueOf(trimmed);
+                    case BOOLEAN -> parseBoolean(trimmed);
+                    case DURATION -> parseDuration(trimmed);
+                };
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid " + this + " value: " + value);
+            }
+        }
+
+        private static Boolean parseBoolean(String value) {
+            if (value.equalsIgnoreCase("true")) {
+                return Boolean.TRUE;
+            }
+            if (value.equalsIgnoreCase("false")) {
+                return Boolean.FALSE;
+            }
+            throw new IllegalArgumentException(value);
+        }
+
+        // ISO-8601 (PT15M) or plain milliseconds
+        private static Duration parseDuration(String value) {
+            if (!value.isEmpty() && Character.isDigit(value.charAt(0))) {
+                return Duration.ofMillis(Long.parseLong(value));
+            }
+            return Duration.parse(value);
+        }
+    }
+
+    /**
+     * One row. {@code parsed} is null when the stored value does not match
+     * its type, typed reads then fall back to their default.
+     */
+    public record Entry(
+            String key,
+            String value,
+            Type type,
+            Object parsed,
+            String description,
+            LocalDateTime updatedAt
+    ) {
+
+        static Entry of(Configuration row) {
+            Type type;
+            try {
+                type = Type.of(row.getType());
+            } catch (RuntimeException e) {
+                type = Type.STRING;
+            }
+
+            Object parsed;
+            try {
+                parsed = type.parse(row.getValue());
+            } catch (RuntimeException e) {
+                parsed = null;
+            }
+            return new Entry(row.getKey(), row.getValue(), type, parsed, row.getDescription(), row.getUpdatedAt());
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.dev.rbac.service;
+
+import com.dev.rbac.dto.DepartmentSalaryStats;
+import com.dev.rbac.model.Employee;
+import com.dev.rbac.repository.DepartmentStatsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-department headcount and salary aggregates. Employee writes apply
+ * their delta to the department_stats table inside the same transaction,
+ * after commit the touched rows are copied into memory, so reads are
+ * O(departments) and never scan employees. {@link #recomputeAll()}
+ * rebuilds everything from the employees table, for repair and after
+ * bulk loads.
+ */
+@Service
+@RequiredArgsConstructor
+public class DepartmentStatsService {
+
+    private final DepartmentStatsRepository departmentStatsRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    // keyed like the table, '' for employees without a department
+    private final Map<String, DepartmentSalaryStats> stats = new ConcurrentHashMap<>();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    /* Read */
+
+    public List<DepartmentSalaryStats> getStats() {
+        return stats.values().stream()
+                .sorted(Comparator.comparing(DepartmentSalaryStats::department,
+                        Comparator.nullsFirst(Comparator.naturalOrder())))
+                .toList();
+    }
+
+    /* Deltas, applied inside the employee write transaction */
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void employeeAdded(Employee employee) {
+        add(key(employee.getDepartment()), employee.getSalary());
+        changed(key(employee.getDepartment()));
+    }
+
+    // the employee row must already be deleted and flushed, min/max are re-read without it
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void employeeRemoved(String department, Double salary) {
+        remove(key(department), salary);
+        changed(key(department));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void employeeChanged(String previousDepartment, Double previousSalary, Employee employee) {
+        String before = key(previousDepartment);
+        String after = key(employee.getDepartment());
+        if (before.equals(after) && Objects.equals(previousSalary, employee.getSalary())) {
+            return;
+        }
+        remove(before, previousSalary);
+        add(after, employee.getSalary());
+        changed(before, after);
+    }
+
+    private void add(String department, Double salary) {
+        if (salary != null) {
+            departmentStatsRepository.addWithSalary(department, salary);
+        } else {
+            departmentStatsRepository.addWithoutSalary(department);
+        }
+    }
+
+    private void remove(String department, Double salary) {
+        if (salary != null) {
+            departmentStatsRepository.removeWithSalary(department, salary);
+            departmentStatsRepository.refreshMinMax(department);
+        } else {
+            departmentStatsRepository.removeWithoutSalary(department);
+        }
+        departmentStatsRepository.deleteIfEmpty(department);
+    }
+
+    private void changed(String... departments) {
+        eventPublisher.publishEvent(new DepartmentStatsChangedEvent(Set.of(departments)));
+    }
+
+    /* Memory copy */
+
+    // read under the lock: two commits on one department can not put their rows back out of order.
+    // A ReentrantLock rather than map.compute, which would pin a virtual thread during the query
+    @TransactionalEventListener
+    public void onStatsChanged(DepartmentStatsChangedEvent event) {
+        refreshLock.lock();
+        try {
+            for (String department : event.departments()) {
+                departmentStatsRepository.findStats(department).ifPresentOrElse(
+                        row -> stats.put(department, row),
+                        () -> stats.remove(department));
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (departmentStatsRepository.count() == 0) {
+            recomputeAll();
+        } else {
+            reloadAll();
+        }
+    }
+
+    /* Repair */
+
+    public List<DepartmentSalaryStats> recomputeAll() {
+        transactionTemplate.executeWithoutResult(status -> {
+            departmentStatsRepository.deleteAllRows();
+            departmentStatsRepository.insertFromEmployees();
+        });
+        reloadAll();
+        return getStats();
+    }
+
+    // under the same lock as onStatsChanged, or a slow full read could put
+    // back rows older than a delta that committed meanwhile
+    private void reloadAll() {
+        refreshLock.lock();
+        try {
+            Map<String, DepartmentSalaryStats> loaded = new HashMap<>();
+            for (DepartmentSalaryStats row : departmentStatsRepository.findAllStats()) {
+                loaded.put(key(row.department()), row);
+            }
+            stats.keySet().retainAll(loaded.keySet());
+            stats.putAll(loaded);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private static String key(String department) {
+        return department == null ? "" : department;
+    }
+
+    public record DepartmentStatsChangedEvent(Set<String> departments) {}
+}
@@ -0,0 +1,250 @@
+package com.dev.rbac.service;
+
+import com.dev.rbac.controller.EmployeeController.CreateEmployeeRequest;
+import com.dev.rbac.model.Employee;
+import com.dev.rbac.repository.EmployeeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bulk employee import from CSV ({@code name,email,department,salary} with a
+ * header row) or NDJSON. The upload is read as a stream and handled in
+ * chunks: one query checks email uniqueness for the whole chunk, and the
+ * valid rows are inserted in JDBC batches in one transaction per chunk.
+ * Bad rows are reported back and never abort the import.
+ */
+@Service
+public class EmployeeImportService {
+
+    private final EmployeeRepository employeeRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final EmployeeSearchCounts searchCounts;
+    private final DepartmentStatsService departmentStatsService;
+    private final TableVersions tableVersions;
+    private final int chunkSize;
+
+    public EmployeeImportService(
+            EmployeeRepository employeeRepository,
+            EntityManager entityManager,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            EmployeeSearchCounts searchCounts,
+            DepartmentStatsService departmentStatsService,
+            TableVersions tableVersions,
+            @Value("${employee.import.chunk-size:500}") int chunkSize) {
+        this.employeeRepository = employeeRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.searchCounts = searchCounts;
+        this.departmentStatsService = departmentStatsService;
+        this.tableVersions = tableVersions;
+        this.chunkSize = chunkSize;
+    }
+
+    public ImportResult importEmployees(InputStream in, Format format) throws IOException {
+        ImportResult result = new ImportResult();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+
+            if (format == Format.CSV) {
+                reader.readLine();   // header
+                lineNumber++;
+            }
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                result.total++;
+
+                try {
+                    chunk.add(new Row(lineNumber, parse(line, format)));
+                } catch (IOException | RuntimeException e) {
+                    // malformed JSON surfaces as an IOException, it is still only this row
+                    result.errors.add(new RowError(lineNumber, null, "Unreadable row: " + e.getMessage()));
+                }
+
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, result);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, result);
+        }
+        searchCounts.invalidateAll();
+        if (result.imported > 0) {
+            // one grouped recompute instead of a delta per imported row
+            departmentStatsService.recomputeAll();
+        }
+        return result;
+    }
+
+    /* Chunk */
+
+    private void importChunk(List<Row> chunk, ImportResult result) {
+
+        Set<String> emails = new HashSet<>();
+        for (Row row : chunk) {
+            if (row.request().getEmail() != null) {
+                emails.add(row.request().getEmail());
+            }
+        }
+        Set<String> taken = new HashSet<>(employeeRepository.findExistingEmails(emails));
+
+        List<Row> valid = new ArrayList<>(chunk.size());
+        Set<String> seen = new HashSet<>();
+        for (Row row : chunk) {
+            String error = validate(row.request(), taken, seen);
+            if (error != null) {
+                result.errors.add(new RowError(row.line(), row.request().getEmail(), error));
+            } else {
+                valid.add(row);
+            }
+        }
+
+        try {
+            insert(valid);
+            result.imported += valid.size();
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent writer took one of the emails, isolate it row by row
+            for (Row row : valid) {
+                try {
+                    insert(List.of(row));
+                    result.imported++;
+                } catch (DataIntegrityViolationException rowFailure) {
+                    result.errors.add(new RowError(row.line(), row.request().getEmail(), "Employee email already exists"));
+                }
+            }
+        }
+    }
+
+    private void insert(List<Row> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            // through the repository so constraint failures arrive translated
+            employeeRepository.saveAll(rows.stream().map(row -> toEmployee(row.request())).toList());
+            employeeRepository.flush();
+            tableVersions.bump(TableVersions.EMPLOYEES);
+            entityManager.clear();
+        });
+    }
+
+    private static String validate(CreateEmployeeRequest request, Set<String> taken, Set<String> seen) {
+        if (request.getName() == null || request.getName().isBlank()) {
+            return "Name is required";
+        }
+        if (request.getEmail() == null || request.getEmail().isBlank()) {
+            return "Email is required";
+        }
+        if (taken.contains(request.getEmail())) {
+            return "Employee email already exists";
+        }
+        if (!seen.add(request.getEmail())) {
+            return "Duplicate email in upload";
+        }
+        return null;
+    }
+
+    private static Employee toEmployee(CreateEmployeeRequest request) {
+        Employee employee = new Employee();
+        employee.setName(request.getName());
+        employee.setEmail(request.getEmail());
+        employee.setDepartment(request.getDepartment());
+        employee.setSalary(request.getSalary());
+        return employee;
+    }
+
+    /* Parsing */
+
+    private CreateEmployeeRequest parse(String line, Format format) throws IOException {
+        if (format == Format.NDJSON) {
+            return objectMapper.readValue(line, CreateEmployeeRequest.class);
+        }
+
+        List<String> fields = splitCsv(line);
+        CreateEmployeeRequest request = new CreateEmployeeRequest();
+        request.setName(field(fields, 0));
+        request.setEmail(field(fields, 1));
+        request.setDepartment(field(fields, 2));
+        String salary = field(fields, 3);
+        request.setSalary(salary == null ? null : Double.valueOf(salary));
+        return request;
+    }
+
+    private static String field(List<String> fields, int index) {
+        if (index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // RFC 4180 quoting on a single line: "a, b" and "" escapes
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    /* Types */
+
+    public enum Format { CSV, NDJSON }
+
+    private record Row(int line, CreateEmployeeRequest request) {}
+
+    public record RowError(int line, String email, String message) {}
+
+    public static class ImportResult {
+        public int total;
+        public int imported;
+        public final List<RowError> errors = new ArrayList<>();
+    }
+}
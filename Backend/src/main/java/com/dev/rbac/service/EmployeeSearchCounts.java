@@ -0,0 +1,84 @@
+package com.dev.rbac.service;
+
+import com.dev.rbac.dto.EmployeeSearchCriteria;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Short-lived totals of employee searches, keyed by the filter set, so
+ * paging through a large result does not run COUNT(*) for every page.
+ * Employee writes through EmployeeService clear it once they commit, other
+ * writers are picked up once an entry expires. Concurrent requests for one
+ * filter set share a single count, which runs outside the cache's map lock,
+ * so a virtual thread never pins its carrier on the query.
+ */
+@Component
+class EmployeeSearchCounts {
+
+    private final AsyncCache<EmployeeSearchCriteria, Long> counts;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    EmployeeSearchCounts(
+            @Value("${employee.search.count-ttl-ms:30000}") long ttlMillis,
+            @Value("${employee.search.count-cache-size:1000}") long maxSize) {
+        this.counts = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .maximumSize(maxSize)
+                .buildAsync();
+    }
+
+    // the loader only parks an empty future in the map, the caller that placed
+    // it runs the count and every other caller waits on that future
+    long get(EmployeeSearchCriteria criteria, Function<EmployeeSearchCriteria, Long> count) {
+        long seen = invalidations.get();
+        CompletableFuture<Long> pending = new CompletableFuture<>();
+        CompletableFuture<Long> total = counts.get(criteria, (key, executor) -> pending);
+
+        if (total == pending) {
+            try {
+                pending.complete(count.apply(criteria));
+            } catch (RuntimeException e) {
+                // failed futures are dropped by the cache
+                pending.completeExceptionally(e);
+                throw e;
+            }
+            // a write that committed during the count may have missed the entry
+            if (invalidations.get() != seen) {
+                counts.asMap().remove(criteria, pending);
+            }
+        }
+        try {
+            return total.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    void invalidateAll() {
+        invalidations.incrementAndGet();
+        counts.synchronous().invalidateAll();
+    }
+
+    // after commit: clearing inside the transaction let a concurrent search
+    // cache the pre-commit total again for a whole TTL
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesChanged(EmployeesChangedEvent event) {
+        invalidateAll();
+    }
+
+    /* Types */
+
+    public record EmployeesChangedEvent() {}
+}
@@ -1,24 +1,83 @@
 package com.dev.rbac.service;
 
 import com.dev.rbac.controller.EmployeeController.UpdateEmployeeRequest;
+import com.dev.rbac.dto.EmployeeSearchCriteria;
+import com.dev.rbac.dto.PageResponse;
+import com.dev.rbac.dto.VersionStamp;
 import com.dev.rbac.model.Employee;
 import com.dev.rbac.repository.EmployeeRepository;
+import com.dev.rbac.repository.EmployeeSpecifications;
+import com.dev.rbac.repository.ExportStreams;
+import com.dev.rbac.service.EmployeeSearchCounts.EmployeesChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class EmployeeService {
 
+    // ?sort= properties of the list endpoint
+    private static final Set<String> SORTABLE = Set.of("id", "name", "email", "department", "salary", "createdAt", "updatedAt");
+
     private final EmployeeRepository employeeRepository;
+    private final ExportStreams exportStreams;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final EmployeeSearchCounts searchCounts;
+    private final DepartmentStatsService departmentStatsService;
+    private final TableVersions tableVersions;
+    private final ApplicationEventPublisher eventPublisher;
 
     //read
 
-    public List<Employee> getAllEmployees() {
-        return employeeRepository.findAll();
+    // offset page, or keyset page after the given id
+    public PageResponse<Employee> getEmployees(Pageable pageable, Long after) {
+        return Paging.page(pageable, after, SORTABLE,
+                employeeRepository::findAll,
+                employeeRepository::findByIdGreaterThanOrderByIdAsc,
+                Employee::getId);
+    }
+
+    // Filtered search, fetches size + 1 rows; the total is only counted on request and then cached
+    public PageResponse<Employee> searchEmployees(EmployeeSearchCriteria criteria, Pageable pageable, boolean withTotal) {
+        Paging.checkSort(pageable.getSort(), SORTABLE);
+        Specification<Employee> specification = EmployeeSpecifications.matching(criteria);
+
+        Slice<Employee> slice = employeeRepository.findBy(specification, query -> query.slice(pageable));
+        Long total = withTotal
+                ? searchCounts.get(criteria, c -> employeeRepository.count(specification))
+                : null;
+
+        return PageResponse.ofSlice(slice, total);
+    }
+
+    // NDJSON export, heap stays flat: each row is detached once it is written
+    @Transactional(readOnly = true)
+    public long exportEmployees(OutputStream out) throws IOException {
+        try (Stream<Employee> employees = exportStreams.employees()) {
+            return NdjsonWriter.write(objectMapper, out, employees, entityManager::detach);
+        }
+    }
+
+    // validators for conditional GETs, no entity is loaded
+    public VersionStamp getEmployeesVersion() {
+        return tableVersions.stamp(TableVersions.EMPLOYEES);
+    }
+
+    public VersionStamp getEmployeeVersion(Long id) {
+        return employeeRepository.findVersionById(id);
     }
 
     public Employee getEmployeeById(Long id) {
@@ -28,13 +87,18 @@ public class EmployeeService {
 
     //Create
 
+    @Transactional
     public Employee createEmployee(Employee employee) {
 
         if (employeeRepository.existsByEmail(employee.getEmail())) {
             throw new RuntimeException("Employee email already exists");
         }
 
-        return employeeRepository.save(employee);
+        Employee savedEmployee = employeeRepository.save(employee);
+        departmentStatsService.employeeAdded(savedEmployee);
+        tableVersions.bump(TableVersions.EMPLOYEES);
+        eventPublisher.publishEvent(new EmployeesChangedEvent());
+        return savedEmployee;
     }
 
     /* update*/
@@ -43,6 +107,8 @@ public class EmployeeService {
     public Employee updateEmployee(Long id, UpdateEmployeeRequest request) {
 
         Employee employee = getEmployeeById(id);
+        String previousDepartment = employee.getDepartment();
+        Double previousSalary = employee.getSalary();
 
         if (request.getName() != null) {
             employee.setName(request.getName());
@@ -54,12 +120,23 @@ public class EmployeeService {
             employee.setSalary(request.getSalary());
         }
 
+        employeeRepository.flush();
+        departmentStatsService.employeeChanged(previousDepartment, previousSalary, employee);
+        tableVersions.bump(TableVersions.EMPLOYEES);
+        eventPublisher.publishEvent(new EmployeesChangedEvent());
         return employee;
     }
 
     /* delete */
 
+    @Transactional
     public void deleteEmployee(Long id) {
-        employeeRepository.deleteById(id);
+        employeeRepository.findById(id).ifPresent(employee -> {
+            employeeRepository.delete(employee);
+            employeeRepository.flush();
+            departmentStatsService.employeeRemoved(employee.getDepartment(), employee.getSalary());
+            tableVersions.bump(TableVersions.EMPLOYEES);
+        });
+        eventPublisher.publishEvent(new EmployeesChangedEvent());
     }
 }
@@ -0,0 +1,40 @@
+package com.dev.rbac.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream as newline-delimited JSON, one row at a time, straight to
+ * the response. Nothing is buffered beyond the generator's own buffer.
+ */
+final class NdjsonWriter {
+
+    private static final int FLUSH_EVERY = 500;
+
+    private NdjsonWriter() {
+    }
+
+    static <T> long write(ObjectMapper objectMapper, OutputStream out, Stream<T> rows, Consumer<T> afterWrite)
+            throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            for (T row : (Iterable<T>) rows::iterator) {
+                generator.writeObject(row);
+                generator.writeRaw('\n');
+                afterWrite.accept(row);
+
+                if (++count % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,61 @@
+package com.dev.rbac.service;
+
+import com.dev.rbac.dto.PageResponse;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Offset page, or keyset page after the given id, for the list endpoints.
+ * Keyset pages always run in id order, so {@code after} with any other
+ * sort is rejected with 400 instead of being silently re-ordered. Clients
+ * may only sort by the properties each endpoint allows, anything else is
+ * a 400 too (no ordering by password hash, no 500 for unknown names).
+ */
+final class Paging {
+
+    private Paging() {
+    }
+
+    /**
+     * @param sortable properties the client may sort by
+     * @param offset page query honouring the pageable's sort
+     * @param keyset up to {@code limit} rows with an id greater than {@code after}, in id order
+     */
+    static <T> PageResponse<T> page(
+            Pageable pageable,
+            Long after,
+            Set<String> sortable,
+            Function<Pageable, Page<T>> offset,
+            BiFunction<Long, Limit, List<T>> keyset,
+            Function<T, Long> idOf) {
+        checkSort(pageable.getSort(), sortable);
+        if (after == null) {
+            return PageResponse.of(offset.apply(pageable), idOf);
+        }
+        if (!PageResponse.isIdAscending(pageable.getSort())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "after pages are ordered by id and cannot be combined with sort");
+        }
+        int size = pageable.getPageSize();
+        return PageResponse.ofKeyset(keyset.apply(after, Limit.of(size + 1)), size, idOf);
+    }
+
+    static void checkSort(Sort sort, Set<String> sortable) {
+        for (Sort.Order order : sort) {
+            if (!sortable.contains(order.getProperty())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Cannot sort by " + order.getProperty() + ", allowed: " + String.join(", ", new TreeSet<>(sortable)));
+            }
+        }
+    }
+}
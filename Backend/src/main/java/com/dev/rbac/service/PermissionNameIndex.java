@@ -0,0 +1,67 @@
+package com.dev.rbac.service;
+
+import com.dev.rbac.model.Permission;
+import com.dev.rbac.repository.PermissionRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory name -> Permission lookup used when roles are created or edited.
+ * Names missing from the index are fetched together with one
+ * {@code findByNameIn} query. PermissionService keeps the entries current on
+ * create, update and delete.
+ */
+@Component
+class PermissionNameIndex {
+
+    private final PermissionRepository permissionRepository;
+    private final Map<String, Permission> byName = new ConcurrentHashMap<>();
+
+    PermissionNameIndex(PermissionRepository permissionRepository) {
+        this.permissionRepository = permissionRepository;
+    }
+
+    // All names resolved or one error listing every unknown name
+    Set<Permission> resolve(Collection<String> names) {
+        if (names == null || names.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        Set<String> missing = new HashSet<>();
+        for (String name : names) {
+            if (!byName.containsKey(name)) {
+                missing.add(name);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Permission permission : permissionRepository.findByNameIn(missing)) {
+                byName.put(permission.getName(), permission);
+            }
+        }
+
+        Set<Permission> permissions = new HashSet<>();
+        SortedSet<String> unknown = new TreeSet<>();
+        for (String name : names) {
+            Permission permission = byName.get(name);
+            if (permission == null) {
+                unknown.add(name);
+            } else {
+                permissions.add(permission);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new RuntimeException("Permissions not found: " + String.join(", ", unknown));
+        }
+        return permissions;
+    }
+
+    void put(Permission permission) {
+        byName.put(permission.getName(), permission);
+    }
+
+    void remove(String name) {
+        byName.remove(name);
+    }
+}
@@ -1,24 +1,44 @@
 package com.dev.rbac.service;
 
+import com.dev.rbac.config.SecondLevelCache;
+import com.dev.rbac.dto.PageResponse;
 import com.dev.rbac.model.Permission;
 import com.dev.rbac.repository.PermissionRepository;
+import com.dev.rbac.repository.UserRepository;
+import com.dev.rbac.security.AuthorizationChangedEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.Set;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class PermissionService {
+
+    // ?sort= properties of the list endpoint
+    private static final Set<String> SORTABLE = Set.of("id", "name", "resource", "action", "createdAt");
     
     private final PermissionRepository permissionRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PermissionNameIndex permissionNameIndex;
+    private final SecondLevelCache secondLevelCache;
     
     public Permission createPermission(Permission permission) {
-        return permissionRepository.save(permission);
+        Permission savedPermission = permissionRepository.save(permission);
+        permissionNameIndex.put(savedPermission);
+        return savedPermission;
     }
     
-    public List<Permission> getAllPermissions() {
-        return permissionRepository.findAll();
+    // offset page, or keyset page after the given id
+    public PageResponse<Permission> getPermissions(Pageable pageable, Long after) {
+        return Paging.page(pageable, after, SORTABLE,
+                permissionRepository::findAll,
+                permissionRepository::findByIdGreaterThanOrderByIdAsc,
+                Permission::getId);
     }
     
     public List<Permission> getPermissionsByResource(String resource) {
@@ -27,12 +47,28 @@ public class PermissionService {
     
     public Permission updatePermission(Long id, Permission permissionDetails) {
         Permission permission = getPermissionById(id);
+        String previousName = permission.getName();
+        permission.setName(permissionDetails.getName());
         permission.setDescription(permissionDetails.getDescription());
-        return permissionRepository.save(permission);
+        permission.setResource(permissionDetails.getResource());
+        permission.setAction(permissionDetails.getAction());
+
+        Permission savedPermission = permissionRepository.save(permission);
+        permissionNameIndex.remove(previousName);
+        permissionNameIndex.put(savedPermission);
+        eventPublisher.publishEvent(new AuthorizationChangedEvent(
+                userRepository.findUsernamesByPermissionId(id)));
+        return savedPermission;
     }
     
     public void deletePermission(Long id) {
-        permissionRepository.deleteById(id);
+        List<String> usernames = userRepository.findUsernamesByPermissionId(id);
+        permissionRepository.findById(id).ifPresent(permission -> {
+            permissionRepository.delete(permission);
+            permissionNameIndex.remove(permission.getName());
+            secondLevelCache.evictRolePermissions();
+        });
+        eventPublisher.publishEvent(new AuthorizationChangedEvent(usernames));
     }
     
     private Permission getPermissionById(Long id) {
@@ -1,23 +1,43 @@
 package com.dev.rbac.service;
 
+import com.dev.rbac.dto.PageResponse;
+import com.dev.rbac.dto.VersionStamp;
 import com.dev.rbac.model.Project;
 import com.dev.rbac.repository.ProjectRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class ProjectService {
 
+    // ?sort= properties of the list endpoint
+    private static final Set<String> SORTABLE = Set.of("id", "name", "status", "startDate", "endDate", "createdAt", "updatedAt");
+
     private final ProjectRepository projectRepository;
+    private final TableVersions tableVersions;
 
     /* Read */
 
-    public List<Project> getAllProjects() {
-        return projectRepository.findAll();
+    // offset page, or keyset page after the given id
+    public PageResponse<Project> getProjects(Pageable pageable, Long after) {
+        return Paging.page(pageable, after, SORTABLE,
+                projectRepository::findAll,
+                projectRepository::findByIdGreaterThanOrderByIdAsc,
+                Project::getId);
+    }
+
+    // validators for conditional GETs, no entity is loaded
+    public VersionStamp getProjectsVersion() {
+        return tableVersions.stamp(TableVersions.PROJECTS);
+    }
+
+    public VersionStamp getProjectVersion(Long id) {
+        return projectRepository.findVersionById(id);
     }
 
     public Project getProjectById(Long id) {
@@ -27,13 +47,16 @@ public class ProjectService {
 
     /* Create*/
 
+    @Transactional
     public Project createProject(Project project) {
 
         if (projectRepository.existsByName(project.getName())) {
             throw new RuntimeException("Project name already exists");
         }
 
-        return projectRepository.save(project);
+        Project savedProject = projectRepository.save(project);
+        tableVersions.bump(TableVersions.PROJECTS);
+        return savedProject;
     }
 
     //update
@@ -47,14 +70,17 @@ public class ProjectService {
         project.setStatus(request.status());
         project.setStartDate(request.startDate());
         project.setEndDate(request.endDate());
+        tableVersions.bump(TableVersions.PROJECTS);
 
         return project;
     }
 
     //delete
 
+    @Transactional
     public void deleteProject(Long id) {
         projectRepository.deleteById(id);
+        tableVersions.bump(TableVersions.PROJECTS);
     }
 
     /* Dto */
@@ -1,41 +1,52 @@
 package com.dev.rbac.service;
 
-import com.dev.rbac.model.Permission;
+import com.dev.rbac.dto.PageResponse;
+import com.dev.rbac.dto.RoleView;
 import com.dev.rbac.model.Role;
-import com.dev.rbac.repository.PermissionRepository;
 import com.dev.rbac.repository.RoleRepository;
+import com.dev.rbac.repository.UserRepository;
+import com.dev.rbac.security.AuthorizationChangedEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class RoleService {
+
+    // ?sort= properties of the list endpoint
+    private static final Set<String> SORTABLE = Set.of("id", "name", "createdAt");
     
     private final RoleRepository roleRepository;
-    private final PermissionRepository permissionRepository;
+    private final PermissionNameIndex permissionNameIndex;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     public Role createRole(Role role, Set<String> permissionNames) {
         if (roleRepository.existsByName(role.getName())) {
             throw new RuntimeException("Role already exists");
         }
         
-        Set<Permission> permissions = new HashSet<>();
-        for (String permissionName : permissionNames) {
-            Permission permission = permissionRepository.findByName(permissionName)
-                    .orElseThrow(() -> new RuntimeException("Permission not found: " + permissionName));
-            permissions.add(permission);
-        }
-        role.setPermissions(permissions);
+        role.setPermissions(permissionNameIndex.resolve(permissionNames));
         
         return roleRepository.save(role);
     }
     
-    public List<Role> getAllRoles() {
-        return roleRepository.findAll();
+    // offset page, or keyset page after the given id; mapped while the
+    // session is open so permissions come from the batch/second-level cache
+    @Transactional(readOnly = true)
+    public PageResponse<RoleView> getRoles(Pageable pageable, Long after) {
+        return Paging.page(pageable, after, SORTABLE,
+                page -> roleRepository.findAll(page).map(RoleView::of),
+                (id, limit) -> roleRepository.findByIdGreaterThanOrderByIdAsc(id, limit).stream()
+                        .map(RoleView::of)
+                        .toList(),
+                RoleView::id);
     }
     
     public Role getRoleById(Long id) {
@@ -46,19 +57,18 @@ public class RoleService {
     public Role updateRolePermissions(Long roleId, Set<String> permissionNames) {
         Role role = getRoleById(roleId);
         
-        Set<Permission> permissions = new HashSet<>();
-        for (String permissionName : permissionNames) {
-            Permission permission = permissionRepository.findByName(permissionName)
-                    .orElseThrow(() -> new RuntimeException("Permission not found: " + permissionName));
-            permissions.add(permission);
-        }
-        role.setPermissions(permissions);
+        role.setPermissions(permissionNameIndex.resolve(permissionNames));
         
-        return roleRepository.save(role);
+        Role savedRole = roleRepository.save(role);
+        eventPublisher.publishEvent(new AuthorizationChangedEvent(
+                userRepository.findUsernamesByRoleId(roleId)));
+        return savedRole;
     }
 
 //   delete  
     public void deleteRole(Long id) {
+        List<String> usernames = userRepository.findUsernamesByRoleId(id);
         roleRepository.deleteById(id);
+        eventPublisher.publishEvent(new AuthorizationChangedEvent(usernames));
     }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.dev.rbac.service;
+
+import com.dev.rbac.dto.VersionStamp;
+import com.dev.rbac.repository.TableVersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Collection validators for conditional GETs. Every write to a listed
+ * table bumps its counter row, so revalidating a collection reads one
+ * row by primary key instead of aggregating the whole table.
+ */
+@Service
+@RequiredArgsConstructor
+public class TableVersions {
+
+    public static final String USERS = "users";
+    public static final String EMPLOYEES = "employees";
+    public static final String PROJECTS = "projects";
+
+    private final TableVersionRepository tableVersionRepository;
+
+    public VersionStamp stamp(String table) {
+        return tableVersionRepository.findVersion(table);
+    }
+
+    // joins the writer's transaction when there is one; callers bump after their
+    // write, so a reader never pairs the new version with the old rows
+    @Transactional
+    public void bump(String table) {
+        tableVersionRepository.bump(table);
+    }
+
+    // a table without a counter row would never answer 304 until its first write
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void seed() {
+        for (String table : List.of(USERS, EMPLOYEES, PROJECTS)) {
+            tableVersionRepository.seed(table);
+        }
+    }
+}
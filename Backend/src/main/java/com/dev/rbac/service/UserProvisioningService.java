@@ -0,0 +1,291 @@
+package com.dev.rbac.service;
+
+import com.dev.rbac.controller.UserController.CreateUserRequest;
+import com.dev.rbac.model.Role;
+import com.dev.rbac.model.User;
+import com.dev.rbac.repository.RoleRepository;
+import com.dev.rbac.repository.UserRepository;
+import com.dev.rbac.security.AuthorizationChangedEvent;
+import com.dev.rbac.security.PasswordHashingService;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+
+/**
+ * Bulk account provisioning. Requests are handled in chunks: one query
+ * checks usernames and emails for the whole chunk, referenced roles are
+ * resolved once with a single IN query, passwords are hashed in parallel on
+ * the hashing pool, and users plus their user_roles rows go out in JDBC
+ * batches. Failing records are reported by position and never abort the batch.
+ * When the hashing pool is saturated a chunk is retried with backoff, and if
+ * it stays saturated that chunk's records are reported as failed.
+ */
+@Service
+public class UserProvisioningService {
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TableVersions tableVersions;
+    private final int chunkSize;
+    private final int hashAttempts;
+    private final long hashBackoffMillis;
+
+    public UserProvisioningService(
+            UserRepository userRepository,
+            RoleRepository roleRepository,
+            PasswordHashingService passwordHashingService,
+            EntityManager entityManager,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            TableVersions tableVersions,
+            @Value("${user.provisioning.chunk-size:500}") int chunkSize,
+            @Value("${user.provisioning.hash-attempts:4}") int hashAttempts,
+            @Value("${user.provisioning.hash-backoff-ms:250}") long hashBackoffMillis) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.passwordHashingService = passwordHashingService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.tableVersions = tableVersions;
+        this.chunkSize = chunkSize;
+        this.hashAttempts = hashAttempts;
+        this.hashBackoffMillis = hashBackoffMillis;
+    }
+
+    public ProvisioningResult provision(List<CreateUserRequest> requests) {
+        ProvisioningResult result = new ProvisioningResult(requests.size());
+        Map<String, Role> roles = resolveRoles(requests);
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+
+        for (int from = 0; from < requests.size(); from += chunkSize) {
+            List<Record> chunk = new ArrayList<>(chunkSize);
+            for (int i = from; i < Math.min(from + chunkSize, requests.size()); i++) {
+                chunk.add(new Record(i, requests.get(i)));
+            }
+            provisionChunk(chunk, roles, seenUsernames, seenEmails, result);
+        }
+        return result;
+    }
+
+    // every role referenced anywhere in the batch, in one round trip
+    private Map<String, Role> resolveRoles(List<CreateUserRequest> requests) {
+        Set<String> names = new HashSet<>();
+        for (CreateUserRequest request : requests) {
+            if (request != null && request.getRoles() != null) {
+                names.addAll(request.getRoles());
+            }
+        }
+        Map<String, Role> roles = new HashMap<>();
+        if (!names.isEmpty()) {
+            for (Role role : roleRepository.findByNameIn(names)) {
+                roles.put(role.getName(), role);
+            }
+        }
+        return roles;
+    }
+
+    /* Chunk */
+
+    private void provisionChunk(List<Record> chunk,
+                                Map<String, Role> roles,
+                                Set<String> seenUsernames,
+                                Set<String> seenEmails,
+                                ProvisioningResult result) {
+
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (Record record : chunk) {
+            if (record.request() == null) {
+                continue;
+            }
+            if (record.request().getUsername() != null) {
+                usernames.add(record.request().getUsername());
+            }
+            if (record.request().getEmail() != null) {
+                emails.add(record.request().getEmail());
+            }
+        }
+
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        if (!usernames.isEmpty() || !emails.isEmpty()) {
+            for (UserRepository.Identity identity : userRepository.findExistingIdentities(usernames, emails)) {
+                takenUsernames.add(identity.getUsername());
+                takenEmails.add(identity.getEmail());
+            }
+        }
+
+        List<Record> valid = new ArrayList<>(chunk.size());
+        for (Record record : chunk) {
+            String error = validate(record.request(), roles, takenUsernames, takenEmails, seenUsernames, seenEmails);
+            if (error != null) {
+                String username = record.request() == null ? null : record.request().getUsername();
+                result.errors.add(new RecordError(record.index(), username, error));
+            } else {
+                valid.add(record);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        List<String> hashes = hash(valid.stream().map(record -> record.request().getPassword()).toList());
+        if (hashes == null) {
+            for (Record record : valid) {
+                result.errors.add(new RecordError(record.index(), record.request().getUsername(), "Password hashing is overloaded, retry later"));
+            }
+            return;
+        }
+
+        List<User> users = new ArrayList<>(valid.size());
+        for (int i = 0; i < valid.size(); i++) {
+            users.add(toUser(valid.get(i).request(), hashes.get(i), roles));
+        }
+
+        List<String> created = new ArrayList<>(users.size());
+        try {
+            insert(users);
+            result.created += users.size();
+            users.forEach(user -> created.add(user.getUsername()));
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent writer took a username or email, isolate it record by record
+            for (int i = 0; i < users.size(); i++) {
+                User user = users.get(i);
+                user.setId(null);
+                try {
+                    insert(List.of(user));
+                    result.created++;
+                    created.add(user.getUsername());
+                } catch (DataIntegrityViolationException recordFailure) {
+                    result.errors.add(new RecordError(valid.get(i).index(), user.getUsername(), "Username or email already exists"));
+                }
+            }
+        }
+        // clears cached "unknown subject" entries for the new names
+        if (!created.isEmpty()) {
+            eventPublisher.publishEvent(new AuthorizationChangedEvent(created));
+        }
+    }
+
+    // encodeAll is rejected with 503 once logins fill the hashing queue; back off
+    // and retry the chunk, null when the pool stays saturated
+    private List<String> hash(List<String> passwords) {
+        long backoff = hashBackoffMillis;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return passwordHashingService.encodeAll(passwords);
+            } catch (ResponseStatusException e) {
+                if (e.getStatusCode() != HttpStatus.SERVICE_UNAVAILABLE) {
+                    throw e;
+                }
+                if (attempt >= hashAttempts) {
+                    return null;
+                }
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            backoff *= 2;
+        }
+    }
+
+    private void insert(List<User> users) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // through the repository so constraint failures arrive translated
+            userRepository.saveAll(users);
+            userRepository.flush();
+            tableVersions.bump(TableVersions.USERS);
+            entityManager.clear();
+        });
+    }
+
+    private static String validate(CreateUserRequest request,
+                                   Map<String, Role> roles,
+                                   Set<String> takenUsernames,
+                                   Set<String> takenEmails,
+                                   Set<String> seenUsernames,
+                                   Set<String> seenEmails) {
+        if (request == null) {
+            return "Record is empty";
+        }
+        if (request.getUsername() == null || request.getUsername().isBlank()) {
+            return "Username is required";
+        }
+        if (request.getEmail() == null || request.getEmail().isBlank()) {
+            return "Email is required";
+        }
+        if (request.getPassword() == null || request.getPassword().isEmpty()) {
+            return "Password is required";
+        }
+        if (takenUsernames.contains(request.getUsername())) {
+            return "Username already exists";
+        }
+        if (takenEmails.contains(request.getEmail())) {
+            return "Email already exists";
+        }
+        if (request.getRoles() != null) {
+            for (String roleName : request.getRoles()) {
+                if (!roles.containsKey(roleName)) {
+                    return "Role not found: " + roleName;
+                }
+            }
+        }
+        if (seenUsernames.contains(request.getUsername())) {
+            return "Duplicate username in batch";
+        }
+        if (seenEmails.contains(request.getEmail())) {
+            return "Duplicate email in batch";
+        }
+        seenUsernames.add(request.getUsername());
+        seenEmails.add(request.getEmail());
+        return null;
+    }
+
+    private static User toUser(CreateUserRequest request, String passwordHash, Map<String, Role> roles) {
+        User user = new User();
+        user.setUsername(request.getUsername());
+        user.setEmail(request.getEmail());
+        user.setPassword(passwordHash);
+
+        Set<Role> userRoles = new HashSet<>();
+        if (request.getRoles() != null) {
+            for (String roleName : request.getRoles()) {
+                userRoles.add(roles.get(roleName));
+            }
+        }
+        user.setRoles(userRoles);
+        return user;
+    }
+
+    /* Types */
+
+    private record Record(int index, CreateUserRequest request) {}
+
+    public record RecordError(int index, String username, String message) {}
+
+    public static class ProvisioningResult {
+        public final int requested;
+        public int created;
+        public final List<RecordError> errors = new ArrayList<>();
+
+        ProvisioningResult(int requested) {
+            this.requested = requested;
+        }
+    }
+}
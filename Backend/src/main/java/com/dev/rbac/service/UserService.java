@@ -1,30 +1,68 @@
 package com.dev.rbac.service;
 
+import com.dev.rbac.dto.PageResponse;
+import com.dev.rbac.dto.UserView;
+import com.dev.rbac.dto.UserSummary;
+import com.dev.rbac.dto.VersionStamp;
 import com.dev.rbac.model.Permission;
 import com.dev.rbac.model.Role;
 import com.dev.rbac.model.User;
+import com.dev.rbac.repository.ExportStreams;
 import com.dev.rbac.repository.RoleRepository;
 import com.dev.rbac.repository.UserRepository;
+import com.dev.rbac.security.AuthorizationChangedEvent;
+import com.dev.rbac.security.AuthorizedUser;
+import com.dev.rbac.security.LoginPrincipal;
+import com.dev.rbac.security.PasswordHashingService;
+import com.dev.rbac.security.PermissionBits;
+import com.dev.rbac.security.PermissionIndex;
+import com.dev.rbac.security.SecurityMetrics;
+import com.dev.rbac.security.SecurityMetrics.LoginStage;
+import com.dev.rbac.security.UserDetailsBatchLoader;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsBatchLoader {
+
+    // ?sort= properties of the list endpoint
+    private static final Set<String> SORTABLE = Set.of("id", "username", "email", "createdAt");
 
     private final UserRepository userRepository;
+    private final ExportStreams exportStreams;
     private final RoleRepository roleRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PermissionIndex permissionIndex;
+    private final ObjectMapper objectMapper;
+    private final SecurityMetrics securityMetrics;
+    private final TableVersions tableVersions;
+    // MVC's async executor, resolved by name; login continuations do JDBC and
+    // JWT work there instead of on the bounded hashing pool
+    private final Executor applicationTaskExecutor;
+
+    private volatile String userNotFoundPassword;
 
     /* ================= AUTH ================= */
 
@@ -32,41 +70,98 @@ public class UserService implements UserDetailsService {
     public UserDetails loadUserByUsername(String username)
             throws UsernameNotFoundException {
 
-        User user = findByUsername(username);
+        // read before the roles are loaded, see PermissionIndex.compile(User, long)
+        long roleChanges = permissionIndex.roleChanges();
+        return authorizedUser(findByUsername(username), roleChanges);
+    }
+
+    // Bulk form of loadUserByUsername, one query for every name; unknown names are left out
+    @Override
+    public List<UserDetails> loadUsersByUsernames(Collection<String> usernames) {
+        long roleChanges = permissionIndex.roleChanges();
+        List<UserDetails> users = new ArrayList<>(usernames.size());
+        for (User user : userRepository.findWithAuthoritiesByUsernameIn(usernames)) {
+            users.add(authorizedUser(user, roleChanges));
+        }
+        return users;
+    }
+
+    private AuthorizedUser authorizedUser(User user, long roleChanges) {
+        PermissionBits permissions = permissionIndex.compile(user, roleChanges);
 
-        return new org.springframework.security.core.userdetails.User(
+        return new AuthorizedUser(
                 user.getUsername(),
                 user.getPassword(),
-                getAuthorities(user)
+                user.isEnabled(),
+                permissionIndex.authorities(permissions),
+                permissions
         );
     }
 
     public User findByUsername(String username) {
-        return userRepository.findByUsername(username)
+        return userRepository.findWithAuthoritiesByUsername(username)
                 .orElseThrow(() ->
                         new UsernameNotFoundException("User not found: " + username));
     }
 
-    /* ================= AUTHORITIES ================= */
-
-    private Set<GrantedAuthority> getAuthorities(User user) {
+    /* ================= LOGIN ================= */
+
+    /**
+     * Loads the login principal with one query, then verifies the password on
+     * the hashing pool. Unknown users still pay for one hash comparison so the
+     * response time does not reveal which usernames exist. Hashes made with a
+     * different BCrypt cost are re-encoded in the background after success.
+     */
+    public CompletableFuture<LoginPrincipal> authenticate(String username, String rawPassword) {
+
+        Optional<LoginPrincipal> principal =
+                LoginPrincipal.from(userRepository.findLoginRowsByUsername(username));
+
+        // includes the wait for a hashing thread, which is what saturation looks like
+        long start = System.nanoTime();
+        if (principal.isEmpty()) {
+            return passwordHashingService.matchesAsync(rawPassword, userNotFoundPassword())
+                    .whenComplete((matches, e) -> securityMetrics.record(LoginStage.PASSWORD_VERIFY, start))
+                    .thenApply(ignored -> {
+                        throw new BadCredentialsException("Bad credentials");
+                    });
+        }
 
-        Set<GrantedAuthority> authorities = new HashSet<>();
+        LoginPrincipal loginPrincipal = principal.get();
+        return passwordHashingService.matchesAsync(rawPassword, loginPrincipal.passwordHash())
+                .whenComplete((matches, e) -> securityMetrics.record(LoginStage.PASSWORD_VERIFY, start))
+                .thenApplyAsync(matches -> {
+                    if (!matches) {
+                        throw new BadCredentialsException("Bad credentials");
+                    }
+                    if (!loginPrincipal.enabled()) {
+                        throw new DisabledException("User is disabled");
+                    }
+                    rehashIfNeeded(loginPrincipal, rawPassword);
+                    return loginPrincipal;
+                }, applicationTaskExecutor);
+    }
 
-        // ROLE_
-        for (Role role : user.getRoles()) {
-            authorities.add(
-                    new SimpleGrantedAuthority("ROLE_" + role.getName())
-            );
+    private void rehashIfNeeded(LoginPrincipal principal, String rawPassword) {
+        if (!passwordHashingService.needsRehash(principal.passwordHash())) {
+            return;
+        }
+        try {
+            passwordHashingService.encodeAsync(rawPassword)
+                    .thenAcceptAsync(hash -> userRepository.updatePassword(principal.username(), hash),
+                            applicationTaskExecutor);
+        } catch (ResponseStatusException e) {
+            // pool is saturated, the next successful login tries again
+        }
+    }
 
-            // PERMISSIONS
-            for (Permission permission : role.getPermissions()) {
-                authorities.add(
-                        new SimpleGrantedAuthority(permission.getName())
-                );
-            }
+    private String userNotFoundPassword() {
+        String encoded = userNotFoundPassword;
+        if (encoded == null) {
+            encoded = passwordHashingService.encode("userNotFoundPassword");
+            userNotFoundPassword = encoded;
         }
-        return authorities;
+        return encoded;
     }
 
     /* ================= PERMISSIONS FOR JWT ================= */
@@ -94,7 +189,7 @@ public class UserService implements UserDetailsService {
             throw new RuntimeException("Email already exists");
         }
 
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordHashingService.encode(user.getPassword()));
 
         Set<Role> roles = roleNames.stream()
                 .map(roleName -> roleRepository.findByName(roleName)
@@ -104,11 +199,65 @@ public class UserService implements UserDetailsService {
 
         user.setRoles(roles);
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        tableVersions.bump(TableVersions.USERS);
+        // clears a cached "unknown subject" for this name
+        eventPublisher.publishEvent(AuthorizationChangedEvent.of(savedUser.getUsername()));
+        return savedUser;
+    }
+
+    // offset page, or keyset page after the given id
+    public PageResponse<UserView> getUsers(Pageable pageable, Long after) {
+        return Paging.page(pageable, after, SORTABLE,
+                page -> {
+                    Page<UserSummary> summaries = userRepository.findSummaries(page);
+                    return new PageImpl<>(withRoles(summaries.getContent()), page, summaries.getTotalElements());
+                },
+                (id, limit) -> withRoles(userRepository.findSummariesAfter(id, limit)),
+                UserView::id);
     }
 
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    // role names of the whole page in one query instead of one per user
+    private List<UserView> withRoles(List<UserSummary> users) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<UserView.RoleRef>> rolesByUser = new HashMap<>();
+        List<Long> ids = users.stream().map(UserSummary::id).toList();
+        for (UserRepository.UserRoleRow row : userRepository.findRoleRowsByUserIds(ids)) {
+            rolesByUser.computeIfAbsent(row.getUserId(), id -> new ArrayList<>())
+                    .add(new UserView.RoleRef(row.getRoleId(), row.getRoleName()));
+        }
+
+        return users.stream()
+                .map(user -> UserView.of(user, rolesByUser.getOrDefault(user.id(), List.of())))
+                .toList();
+    }
+
+    // NDJSON export of plain columns, never loads roles or permissions
+    @Transactional(readOnly = true)
+    public long exportUsers(OutputStream out) throws IOException {
+        try (Stream<UserSummary> users = exportStreams.userSummaries()) {
+            return NdjsonWriter.write(objectMapper, out, users, user -> {});
+        }
+    }
+
+    // validators for conditional GETs, no entity is loaded
+    public VersionStamp getUsersVersion() {
+        return tableVersions.stamp(TableVersions.USERS);
+    }
+
+    public VersionStamp getUserVersion(Long id) {
+        return userRepository.findVersionById(id);
+    }
+
+    // columns and role names only, the permission graph is never loaded
+    public UserView getUser(Long id) {
+        UserSummary user = userRepository.findSummaryById(id)
+                .orElseThrow(() ->
+                        new RuntimeException("User not found"));
+        return withRoles(List.of(user)).get(0);
     }
 
     public User getUserById(Long id) {
@@ -129,10 +278,15 @@ public class UserService implements UserDetailsService {
                 .collect(Collectors.toSet());
 
         user.setRoles(roles);
+        eventPublisher.publishEvent(AuthorizationChangedEvent.of(user.getUsername()));
         return user;
     }
 
     public void deleteUser(Long id) {
-        userRepository.deleteById(id);
+        userRepository.findById(id).ifPresent(user -> {
+            userRepository.delete(user);
+            tableVersions.bump(TableVersions.USERS);
+            eventPublisher.publishEvent(AuthorizationChangedEvent.of(user.getUsername()));
+        });
     }
 }
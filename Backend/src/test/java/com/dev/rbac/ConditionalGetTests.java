@@ -0,0 +1,105 @@
+package com.dev.rbac;
+
+import com.dev.rbac.controller.EmployeeController.UpdateEmployeeRequest;
+import com.dev.rbac.model.Employee;
+import com.dev.rbac.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * MySQL keeps updated_at to the second, so two updates within one second
+ * leave it unchanged. The ETag must still move with every write, deletes
+ * included.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties =
+		"spring.datasource.url=jdbc:h2:mem:rbac_conditional_get;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+class ConditionalGetTests {
+
+	private static final Timestamp SAME_SECOND = Timestamp.valueOf(LocalDateTime.of(2026, 1, 1, 12, 0, 0));
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void twoUpdatesWithinOneSecondChangeTheEtag() throws Exception {
+		Employee employee = new Employee();
+		employee.setName("Before");
+		employee.setEmail("etag@corp.test");
+		Long id = employeeService.createEmployee(employee).getId();
+
+		pinUpdatedAt(id);
+		String itemTag = etag("/api/employees/" + id);
+		String listTag = etag("/api/employees");
+		assertThat(revalidate("/api/employees/" + id, itemTag)).isEqualTo(304);
+
+		UpdateEmployeeRequest request = new UpdateEmployeeRequest();
+		request.setName("After");
+		employeeService.updateEmployee(id, request);
+		pinUpdatedAt(id);
+
+		assertThat(revalidate("/api/employees/" + id, itemTag)).isEqualTo(200);
+		assertThat(revalidate("/api/employees", listTag)).isEqualTo(200);
+		assertThat(etag("/api/employees/" + id)).isNotEqualTo(itemTag);
+	}
+
+	@Test
+	void deleteChangesTheCollectionEtag() throws Exception {
+		Employee employee = new Employee();
+		employee.setName("Leaving");
+		employee.setEmail("leaving@corp.test");
+		Long id = employeeService.createEmployee(employee).getId();
+
+		String listTag = etag("/api/employees");
+		assertThat(revalidate("/api/employees", listTag)).isEqualTo(304);
+
+		employeeService.deleteEmployee(id);
+
+		assertThat(revalidate("/api/employees", listTag)).isEqualTo(200);
+	}
+
+	// what a second-precision column stores for both writes
+	private void pinUpdatedAt(Long id) {
+		jdbcTemplate.update("UPDATE employees SET created_at = ?, updated_at = ? WHERE id = ?", SAME_SECOND, SAME_SECOND, id);
+	}
+
+	private String etag(String path) throws Exception {
+		return mockMvc.perform(get(path).with(reader()))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+	}
+
+	private int revalidate(String path, String etag) throws Exception {
+		return mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag).with(reader()))
+				.andReturn().getResponse().getStatus();
+	}
+
+	private static RequestPostProcessor reader() {
+		return user("reader").authorities(new SimpleGrantedAuthority("EMPLOYEE_READ"));
+	}
+}
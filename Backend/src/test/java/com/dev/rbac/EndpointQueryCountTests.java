@@ -0,0 +1,304 @@
+package com.dev.rbac;
+
+import com.dev.rbac.config.SecondLevelCache;
+import com.dev.rbac.model.Permission;
+import com.dev.rbac.model.Role;
+import com.dev.rbac.model.User;
+import com.dev.rbac.repository.PermissionRepository;
+import com.dev.rbac.repository.RoleRepository;
+import com.dev.rbac.repository.UserRepository;
+import com.dev.rbac.security.AuthoritySnapshotCache;
+import com.dev.rbac.security.TokenRevocationService;
+import com.dev.rbac.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Locks in the number of SQL statements per endpoint, so a lazy association
+ * that starts loading row by row again fails the build. Counts are taken
+ * with a cold second-level cache.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EndpointQueryCountTests {
+
+	private static final int USERS = 30;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private RoleRepository roleRepository;
+
+	@Autowired
+	private PermissionRepository permissionRepository;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private AuthoritySnapshotCache authoritySnapshotCache;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private SecondLevelCache secondLevelCache;
+
+	// keeps the scheduled prune away from the statement counter
+	@MockitoBean
+	private TokenRevocationService tokenRevocationService;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void seed() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		if (userRepository.count() > 0) {
+			return;
+		}
+
+		transactionTemplate.executeWithoutResult(status -> {
+			List<Permission> permissions = new ArrayList<>();
+			for (String name : List.of("USER_READ", "ROLE_READ", "EMPLOYEE_READ", "PROJECT_READ", "PERMISSION_READ")) {
+				Permission permission = new Permission();
+				permission.setName(name);
+				permissions.add(permissionRepository.save(permission));
+			}
+
+			List<Role> roles = new ArrayList<>();
+			for (int i = 0; i < 3; i++) {
+				Role role = new Role();
+				role.setName("ROLE_" + i);
+				role.getPermissions().addAll(permissions.subList(i, i + 3));
+				roles.add(roleRepository.save(role));
+			}
+
+			for (int i = 0; i < USERS; i++) {
+				User user = new User();
+				user.setUsername("user" + i);
+				user.setEmail("user" + i + "@rbac.local");
+				user.setPassword("{noop}secret");
+				user.setRoles(Set.of(roles.get(i % 3), roles.get((i + 1) % 3)));
+				userRepository.save(user);
+			}
+		});
+	}
+
+	@Test
+	void loadingTheAuthenticatedUserIsOneStatement() {
+		assertThat(statements(() -> userService.loadUserByUsername("user0"))).isEqualTo(1);
+	}
+
+	@Test
+	void loginPrincipalIsOneStatement() {
+		assertThat(statements(() -> userRepository.findLoginRowsByUsername("user0"))).isEqualTo(1);
+	}
+
+	@Test
+	void userPageIsVersionPageCountAndOneRoleQuery() throws Exception {
+		assertThat(statements(get("/api/users").param("size", "10"))).isEqualTo(4);
+	}
+
+	@Test
+	void userKeysetPageSkipsTheCount() throws Exception {
+		assertThat(statements(get("/api/users").param("after", "0").param("size", "10"))).isEqualTo(3);
+	}
+
+	@Test
+	void userDetailIsVersionColumnsAndRoleNames() throws Exception {
+		Long id = userRepository.findByUsername("user1").orElseThrow().getId();
+		assertThat(statements(get("/api/users/{id}", id))).isEqualTo(3);
+	}
+
+	@Test
+	void revalidationIsOnlyTheVersionQuery() throws Exception {
+		UserDetails admin = userService.loadUserByUsername("user0");
+		var auth = authentication(new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+		String etag = mockMvc.perform(get("/api/users").param("size", "10").with(auth))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		statistics.clear();
+		mockMvc.perform(get("/api/users").param("size", "10").header(HttpHeaders.IF_NONE_MATCH, etag).with(auth))
+				.andExpect(status().isNotModified());
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	void userPageOnlySortsByAllowedProperties() throws Exception {
+		UserDetails admin = userService.loadUserByUsername("user0");
+		var auth = authentication(new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+
+		mockMvc.perform(get("/api/users").param("sort", "email,desc").with(auth))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/api/users").param("sort", "password").with(auth))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/users").param("sort", "noSuchProperty").with(auth))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void userExportStreamsAllRowsFromOneStatement() throws Exception {
+		UserDetails admin = userService.loadUserByUsername("user0");
+		var auth = authentication(new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+
+		// cleared up front, the export may finish before perform returns
+		statistics.clear();
+		MvcResult started = mockMvc.perform(get("/api/users/export").with(auth))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		String body = mockMvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(body.lines()).hasSize((int) userRepository.count());
+	}
+
+	@Test
+	void rolePageLoadsPermissionsInOneBatch() throws Exception {
+		assertThat(statements(get("/api/roles"))).isEqualTo(2);
+	}
+
+	@Test
+	void employeeSearchCountsOnlyOnRequestAndCachesTheTotal() throws Exception {
+		assertThat(statements(get("/api/employees/search").param("department", "R&D").param("minSalary", "1000"))).isEqualTo(2);
+		assertThat(statements(get("/api/employees/search").param("name", "jo").param("total", "true"))).isEqualTo(3);
+		assertThat(statements(get("/api/employees/search").param("name", "jo").param("total", "true"))).isEqualTo(2);
+	}
+
+	@Test
+	void coldBatchAuthorizationCheckLoadsAllSubjectsInOneStatement() throws Exception {
+		var request = batchAuthorizationCheck();
+		authoritySnapshotCache.invalidateAll();
+
+		statistics.clear();
+		mockMvc.perform(request)
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.decisions[100].reason").value("UNKNOWN_SUBJECT"));
+		// ten users and the unknown subject, one IN query
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	void warmBatchAuthorizationCheckRunsNoStatements() throws Exception {
+		var request = batchAuthorizationCheck();
+		mockMvc.perform(request).andExpect(status().isOk());
+
+		statistics.clear();
+		mockMvc.perform(request)
+				.andExpect(status().isOk())
+				// user0 holds ROLE_0 (USER_READ..EMPLOYEE_READ), user1 only ROLE_1 and ROLE_2
+				.andExpect(jsonPath("$.decisions[0].allowed").value(true))
+				.andExpect(jsonPath("$.decisions[1].reason").value("NOT_GRANTED"))
+				.andExpect(jsonPath("$.decisions[100].reason").value("UNKNOWN_SUBJECT"));
+		// the unknown subject is remembered as well
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+	}
+
+	@Test
+	void nullEntriesInABatchAreAnsweredAsInvalid() throws Exception {
+		mockMvc.perform(post("/api/authz/check")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"checks\":[null,{\"subject\":\"user0\",\"permission\":\"USER_READ\"}]}")
+						.with(user("service").authorities(new SimpleGrantedAuthority("AUTHZ_CHECK"))))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.decisions[0].reason").value("INVALID"))
+				.andExpect(jsonPath("$.decisions[0].allowed").value(false))
+				.andExpect(jsonPath("$.decisions[1].reason").value("GRANTED"));
+	}
+
+	@Test
+	void warmSecondLevelCacheServesRoleLookups() {
+		secondLevelCache.evictAll();
+		roleRepository.findByName("ROLE_1");
+
+		statistics.clear();
+		transactionTemplate.executeWithoutResult(status ->
+				roleRepository.findByName("ROLE_1").orElseThrow().getPermissions().size());
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+		long hits = secondLevelCache.stats().hits();
+		statistics.clear();
+		transactionTemplate.executeWithoutResult(status ->
+				roleRepository.findByName("ROLE_1").orElseThrow().getPermissions().size());
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+		// role, its permission collection and the permissions, read from the JCache metrics
+		assertThat(secondLevelCache.stats().hits()).isGreaterThan(hits);
+	}
+
+	/* Helpers */
+
+	// 100 tuples over user0..user9, then one subject without a user
+	private MockHttpServletRequestBuilder batchAuthorizationCheck() {
+		StringBuilder checks = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			checks.append(i == 0 ? "" : ",")
+					.append("{\"subject\":\"user").append(i % 10)
+					.append("\",\"permission\":\"").append(i % 2 == 0 ? "ROLE_READ" : "USER_READ").append("\"}");
+		}
+		return post("/api/authz/check")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"checks\":[" + checks + ",{\"subject\":\"nobody\",\"permission\":\"USER_READ\"}]}")
+				.with(user("service").authorities(new SimpleGrantedAuthority("AUTHZ_CHECK")));
+	}
+
+	private long statements(Runnable action) {
+		secondLevelCache.evictAll();
+		statistics.clear();
+		action.run();
+		return statistics.getPrepareStatementCount();
+	}
+
+	private long statements(MockHttpServletRequestBuilder request) throws Exception {
+		UserDetails admin = userService.loadUserByUsername("user0");
+		var auth = authentication(new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+
+		secondLevelCache.evictAll();
+		statistics.clear();
+		ResultActions result = mockMvc.perform(request.with(auth));
+		long count = statistics.getPrepareStatementCount();
+
+		result.andExpect(status().isOk());
+		return count;
+	}
+}
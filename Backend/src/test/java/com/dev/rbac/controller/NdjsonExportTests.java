@@ -0,0 +1,53 @@
+package com.dev.rbac.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * One export thread and no queue: a second export while the first is still
+ * streaming is turned away with 503.
+ */
+class NdjsonExportTests {
+
+	private final NdjsonExport export = new NdjsonExport(60000, 1, 0);
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	@AfterEach
+	void shutdown() {
+		release.countDown();
+		export.shutdown();
+	}
+
+	@Test
+	void exportBeyondThePoolIsRejectedWith503() throws Exception {
+		WebAsyncTask<Void> first = export.stream(new MockHttpServletResponse(), out -> await());
+		Future<?> running = first.getExecutor().submit(first.getCallable());
+
+		WebAsyncTask<Void> second = export.stream(new MockHttpServletResponse(), out -> {});
+		assertThatThrownBy(() -> second.getExecutor().submit(second.getCallable()))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+
+		release.countDown();
+		assertThat(running.get(5, TimeUnit.SECONDS)).isNull();
+	}
+
+	private void await() {
+		try {
+			release.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
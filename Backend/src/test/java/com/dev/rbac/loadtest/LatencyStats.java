@@ -0,0 +1,79 @@
+package com.dev.rbac.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and status counts per endpoint for one scenario.
+ * Values are recorded in microseconds, up to one minute at three
+ * significant digits, so p999 is exact rather than sampled.
+ */
+class LatencyStats {
+
+	private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+	private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+	void record(String endpoint, int status, long startNanos) {
+		long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+		Endpoint stats = endpoints.computeIfAbsent(endpoint, key -> new Endpoint());
+		stats.latency.recordValue(Math.min(Math.max(micros, 1), MAX_MICROS));
+		stats.statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+	}
+
+	Map<String, Row> rows(long elapsedMillis) {
+		Map<String, Row> rows = new TreeMap<>();
+		endpoints.forEach((endpoint, stats) -> rows.put(endpoint, stats.row(elapsedMillis)));
+		return rows;
+	}
+
+	/**
+	 * @param statuses HTTP status to count, 0 for transport failures
+	 */
+	record Row(
+			long requests,
+			long errors,
+			double throughputPerSecond,
+			double meanMillis,
+			double p50Millis,
+			double p99Millis,
+			double p999Millis,
+			double maxMillis,
+			Map<Integer, Long> statuses
+	) {}
+
+	private static final class Endpoint {
+
+		private final Histogram latency = new ConcurrentHistogram(MAX_MICROS, 3);
+		private final ConcurrentMap<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+		Row row(long elapsedMillis) {
+			Map<Integer, Long> counts = new TreeMap<>();
+			statuses.forEach((status, count) -> counts.put(status, count.sum()));
+			long requests = latency.getTotalCount();
+			long errors = counts.entrySet().stream()
+					.filter(entry -> entry.getKey() < 200 || entry.getKey() >= 400)
+					.mapToLong(Map.Entry::getValue)
+					.sum();
+
+			return new Row(
+					requests,
+					errors,
+					elapsedMillis == 0 ? 0 : requests * 1000.0 / elapsedMillis,
+					latency.getMean() / 1000.0,
+					latency.getValueAtPercentile(50) / 1000.0,
+					latency.getValueAtPercentile(99) / 1000.0,
+					latency.getValueAtPercentile(99.9) / 1000.0,
+					latency.getMaxValue() / 1000.0,
+					counts
+			);
+		}
+	}
+}
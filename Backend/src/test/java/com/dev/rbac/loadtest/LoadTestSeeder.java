@@ -0,0 +1,203 @@
+package com.dev.rbac.loadtest;
+
+import com.dev.rbac.model.Employee;
+import com.dev.rbac.model.Permission;
+import com.dev.rbac.model.Project;
+import com.dev.rbac.model.Role;
+import com.dev.rbac.model.User;
+import com.dev.rbac.repository.EmployeeRepository;
+import com.dev.rbac.repository.PermissionRepository;
+import com.dev.rbac.repository.ProjectRepository;
+import com.dev.rbac.repository.RoleRepository;
+import com.dev.rbac.repository.UserRepository;
+import com.dev.rbac.service.DepartmentStatsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Synthetic RBAC dataset for the load test. Everything derives from a
+ * fixed seed, so two runs with the same sizes load identical data.
+ *
+ * Roles: ADMIN (every permission), READER (every *_READ permission) and
+ * synthetic LT_ROLE_nnn roles holding round-robin slices of the synthetic
+ * permissions. Every user is a READER with two synthetic roles, so role
+ * edits invalidate real users' authorities while reads stay permitted.
+ */
+class LoadTestSeeder {
+
+	static final String PASSWORD = "loadtest";
+	static final String ADMIN = "lt_admin";
+	static final List<String> DEPARTMENTS = List.of(
+			"Engineering", "R&D", "Sales", "Marketing", "Finance", "HR",
+			"Support", "Operations", "Legal", "IT", "Procurement", "Design");
+
+	// every authority an endpoint checks
+	private static final List<String> APPLICATION_PERMISSIONS = List.of(
+			"USER_READ", "USER_CREATE", "USER_UPDATE", "USER_DELETE",
+			"ROLE_READ", "ROLE_CREATE", "ROLE_UPDATE", "ROLE_DELETE",
+			"PERMISSION_READ", "PERMISSION_CREATE", "PERMISSION_UPDATE", "PERMISSION_DELETE",
+			"EMPLOYEE_READ", "EMPLOYEE_CREATE", "EMPLOYEE_UPDATE", "EMPLOYEE_DELETE",
+			"PROJECT_READ", "PROJECT_CREATE", "PROJECT_UPDATE", "PROJECT_DELETE");
+
+	private static final int CHUNK = 1000;
+
+	record Sizes(int users, int roles, int permissions, int employees, int projects) {}
+
+	record Dataset(
+			List<String> usernames,
+			List<Long> userIds,
+			List<Long> syntheticRoleIds,
+			List<String> syntheticPermissions
+	) {}
+
+	private final PermissionRepository permissionRepository;
+	private final RoleRepository roleRepository;
+	private final UserRepository userRepository;
+	private final EmployeeRepository employeeRepository;
+	private final ProjectRepository projectRepository;
+	private final DepartmentStatsService departmentStatsService;
+	private final PasswordEncoder passwordEncoder;
+	private final TransactionTemplate transactionTemplate;
+
+	LoadTestSeeder(
+			PermissionRepository permissionRepository,
+			RoleRepository roleRepository,
+			UserRepository userRepository,
+			EmployeeRepository employeeRepository,
+			ProjectRepository projectRepository,
+			DepartmentStatsService departmentStatsService,
+			PasswordEncoder passwordEncoder,
+			TransactionTemplate transactionTemplate) {
+		this.permissionRepository = permissionRepository;
+		this.roleRepository = roleRepository;
+		this.userRepository = userRepository;
+		this.employeeRepository = employeeRepository;
+		this.projectRepository = projectRepository;
+		this.departmentStatsService = departmentStatsService;
+		this.passwordEncoder = passwordEncoder;
+		this.transactionTemplate = transactionTemplate;
+	}
+
+	Dataset seed(Sizes sizes) {
+		Random random = new Random(42);
+
+		/* Permissions */
+
+		List<Permission> application = new ArrayList<>();
+		for (String name : APPLICATION_PERMISSIONS) {
+			application.add(permission(name));
+		}
+		List<Permission> synthetic = new ArrayList<>();
+		for (int i = 0; i < Math.max(1, sizes.permissions() - APPLICATION_PERMISSIONS.size()); i++) {
+			synthetic.add(permission(String.format("SYNTH_%04d", i)));
+		}
+		List<Permission> permissions = new ArrayList<>(application);
+		permissions.addAll(synthetic);
+		saveInChunks(permissions, permissionRepository::saveAll);
+
+		/* Roles */
+
+		Role admin = role("ADMIN", permissions);
+		Role reader = role("READER", application.stream().filter(p -> p.getName().endsWith("_READ")).toList());
+		List<Role> syntheticRoles = new ArrayList<>();
+		int syntheticRoleCount = Math.max(1, sizes.roles() - 2);
+		for (int i = 0; i < syntheticRoleCount; i++) {
+			List<Permission> slice = new ArrayList<>();
+			for (int p = i; p < synthetic.size(); p += syntheticRoleCount) {
+				slice.add(synthetic.get(p));
+			}
+			syntheticRoles.add(role(String.format("LT_ROLE_%03d", i), slice));
+		}
+		List<Role> roles = new ArrayList<>(List.of(admin, reader));
+		roles.addAll(syntheticRoles);
+		saveInChunks(roles, roleRepository::saveAll);
+
+		/* Users, one hash shared by all so seeding does not pay BCrypt per row */
+
+		String hash = passwordEncoder.encode(PASSWORD);
+		List<User> users = new ArrayList<>();
+		users.add(user(ADMIN, hash, Set.of(admin)));
+		for (int i = 0; i < sizes.users(); i++) {
+			users.add(user(String.format("user%05d", i), hash, Set.of(
+					reader,
+					syntheticRoles.get(i % syntheticRoles.size()),
+					syntheticRoles.get((i * 7 + 1) % syntheticRoles.size()))));
+		}
+		saveInChunks(users, userRepository::saveAll);
+
+		/* Employees and projects */
+
+		List<Employee> employees = new ArrayList<>();
+		for (int i = 0; i < sizes.employees(); i++) {
+			Employee employee = new Employee();
+			employee.setName("Employee " + i);
+			employee.setEmail(String.format("employee%06d@loadtest.local", i));
+			employee.setDepartment(DEPARTMENTS.get(random.nextInt(DEPARTMENTS.size())));
+			employee.setSalary(30_000 + random.nextInt(170_000) * 1.0);
+			employees.add(employee);
+		}
+		saveInChunks(employees, employeeRepository::saveAll);
+		departmentStatsService.recomputeAll();
+
+		List<Project> projects = new ArrayList<>();
+		LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+		for (int i = 0; i < sizes.projects(); i++) {
+			Project project = new Project();
+			project.setName("Project " + i);
+			project.setDescription("Synthetic project " + i);
+			project.setStatus(List.of("PLANNED", "ACTIVE", "COMPLETED").get(i % 3));
+			project.setStartDate(start.plusDays(random.nextInt(365)));
+			project.setEndDate(project.getStartDate().plusDays(30 + random.nextInt(300)));
+			projects.add(project);
+		}
+		saveInChunks(projects, projectRepository::saveAll);
+
+		List<User> regular = users.subList(1, users.size());
+		return new Dataset(
+				regular.stream().map(User::getUsername).toList(),
+				regular.stream().map(User::getId).toList(),
+				syntheticRoles.stream().map(Role::getId).toList(),
+				synthetic.stream().map(Permission::getName).toList()
+		);
+	}
+
+	private <T> void saveInChunks(List<T> rows, Consumer<List<T>> saveAll) {
+		for (int from = 0; from < rows.size(); from += CHUNK) {
+			List<T> chunk = rows.subList(from, Math.min(rows.size(), from + CHUNK));
+			transactionTemplate.executeWithoutResult(status -> saveAll.accept(chunk));
+		}
+	}
+
+	private static Permission permission(String name) {
+		Permission permission = new Permission();
+		permission.setName(name);
+		int split = name.lastIndexOf('_');
+		permission.setResource(split > 0 ? name.substring(0, split) : name);
+		permission.setAction(split > 0 ? name.substring(split + 1) : "USE");
+		return permission;
+	}
+
+	private static Role role(String name, List<Permission> permissions) {
+		Role role = new Role();
+		role.setName(name);
+		role.setDescription("Load test role " + name);
+		role.getPermissions().addAll(permissions);
+		return role;
+	}
+
+	private static User user(String username, String hash, Set<Role> roles) {
+		User user = new User();
+		user.setUsername(username);
+		user.setEmail(username + "@loadtest.local");
+		user.setPassword(hash);
+		user.setRoles(roles);
+		return user;
+	}
+}
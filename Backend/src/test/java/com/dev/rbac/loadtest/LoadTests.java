@@ -0,0 +1,296 @@
+package com.dev.rbac.loadtest;
+
+import com.dev.rbac.repository.EmployeeRepository;
+import com.dev.rbac.repository.PermissionRepository;
+import com.dev.rbac.repository.ProjectRepository;
+import com.dev.rbac.repository.RoleRepository;
+import com.dev.rbac.repository.UserRepository;
+import com.dev.rbac.service.DepartmentStatsService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test: the full application on an in-memory H2 database
+ * (MySQL mode), driven over HTTP through Tomcat. Three scenarios run one
+ * after the other after a discarded warmup:
+ * <ul>
+ *   <li>login-storm: every thread logs in random users</li>
+ *   <li>read-browsing: list, detail and search reads with user tokens</li>
+ *   <li>role-edits-during-reads: the same reads while one thread keeps
+ *       rewriting role permissions</li>
+ * </ul>
+ * Throughput and p50/p99/p999 per endpoint go to {@code loadtest.report}
+ * as JSON. Excluded from the normal build, run with
+ * {@code mvn -Ploadtest test}; sizes and durations are the
+ * {@code loadtest.*} properties and can be overridden with {@code -D}.
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+class LoadTests {
+
+	private static final int PAGE_SIZE = 50;
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired private PermissionRepository permissionRepository;
+	@Autowired private RoleRepository roleRepository;
+	@Autowired private UserRepository userRepository;
+	@Autowired private EmployeeRepository employeeRepository;
+	@Autowired private ProjectRepository projectRepository;
+	@Autowired private DepartmentStatsService departmentStatsService;
+	@Autowired private PasswordEncoder passwordEncoder;
+	@Autowired private TransactionTemplate transactionTemplate;
+	@Autowired private ObjectMapper objectMapper;
+
+	@Value("${loadtest.users}") private int users;
+	@Value("${loadtest.roles}") private int roles;
+	@Value("${loadtest.permissions}") private int permissions;
+	@Value("${loadtest.employees}") private int employees;
+	@Value("${loadtest.projects}") private int projects;
+	@Value("${loadtest.threads}") private int threads;
+	@Value("${loadtest.warmup-seconds}") private int warmupSeconds;
+	@Value("${loadtest.duration-seconds}") private int durationSeconds;
+	@Value("${loadtest.role-edit-interval-ms}") private long roleEditIntervalMs;
+	@Value("${loadtest.report}") private Path reportPath;
+	@Value("${loadtest.scenarios}") private Set<String> enabledScenarios;
+	@Value("${spring.threads.virtual.enabled:false}") private boolean virtualThreads;
+
+	private final HttpClient http = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(10))
+			.build();
+
+	private LoadTestSeeder.Dataset dataset;
+	private List<String> tokens;
+	private String adminToken;
+
+	@Test
+	void mixedScenarios() throws Exception {
+		LoadTestSeeder.Sizes sizes = new LoadTestSeeder.Sizes(users, roles, permissions, employees, projects);
+		long seedStart = System.nanoTime();
+		dataset = new LoadTestSeeder(permissionRepository, roleRepository, userRepository, employeeRepository,
+				projectRepository, departmentStatsService, passwordEncoder, transactionTemplate).seed(sizes);
+		long seedMillis = (System.nanoTime() - seedStart) / 1_000_000;
+
+		adminToken = login(LoadTestSeeder.ADMIN);
+		tokens = new ArrayList<>();
+		for (int i = 0; i < Math.min(dataset.usernames().size(), threads * 4); i++) {
+			tokens.add(login(dataset.usernames().get(i)));
+		}
+
+		Duration duration = Duration.ofSeconds(durationSeconds);
+		run(Duration.ofSeconds(warmupSeconds), thread -> this::read);
+
+		Map<String, Object> scenarios = new LinkedHashMap<>();
+		if (enabledScenarios.contains("login-storm")) {
+			scenarios.put("login-storm", run(duration, thread -> this::loginRandomUser));
+		}
+		if (enabledScenarios.contains("read-browsing")) {
+			scenarios.put("read-browsing", run(duration, thread -> this::read));
+		}
+		if (enabledScenarios.contains("role-edits-during-reads")) {
+			scenarios.put("role-edits-during-reads", run(duration,
+					thread -> thread == 0 ? this::editRolePermissions : this::read));
+		}
+
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("generatedAt", Instant.now().toString());
+		report.put("threads", threads);
+		report.put("durationSeconds", durationSeconds);
+		report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+		report.put("javaVersion", Runtime.version().toString());
+		report.put("virtualThreads", virtualThreads);
+		report.put("seed", sizes);
+		report.put("seedMillis", seedMillis);
+		report.put("scenarios", scenarios);
+		write(report);
+
+		scenarios.forEach((name, result) -> {
+			@SuppressWarnings("unchecked")
+			Map<String, LatencyStats.Row> endpoints = (Map<String, LatencyStats.Row>) ((Map<String, Object>) result).get("endpoints");
+			endpoints.forEach((endpoint, row) -> assertThat(row.requests() - row.errors())
+					.as("%s %s served no successful request", name, endpoint)
+					.isPositive());
+		});
+	}
+
+	/* Scenario runner */
+
+	@FunctionalInterface
+	private interface Step {
+		void run(LatencyStats stats, SplittableRandom random) throws Exception;
+	}
+
+	// each thread loops its step until the deadline; thread i always uses seed i
+	private Map<String, Object> run(Duration duration, IntFunction<Step> steps) throws Exception {
+		LatencyStats stats = new LatencyStats();
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		long start = System.nanoTime();
+		long deadline = start + duration.toNanos();
+		try {
+			List<Future<?>> workers = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				Step step = steps.apply(i);
+				SplittableRandom random = new SplittableRandom(i);
+				workers.add(executor.submit(() -> {
+					while (System.nanoTime() < deadline) {
+						step.run(stats, random);
+					}
+					return null;
+				}));
+			}
+			for (Future<?> worker : workers) {
+				worker.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("elapsedMillis", elapsedMillis);
+		result.put("endpoints", stats.rows(elapsedMillis));
+		return result;
+	}
+
+	/* Steps */
+
+	private void loginRandomUser(LatencyStats stats, SplittableRandom random) throws InterruptedException {
+		String username = dataset.usernames().get(random.nextInt(dataset.usernames().size()));
+		call(stats, "POST /api/auth/login", loginRequest(username));
+	}
+
+	private void read(LatencyStats stats, SplittableRandom random) throws InterruptedException {
+		String token = tokens.get(random.nextInt(tokens.size()));
+		int pick = random.nextInt(100);
+
+		if (pick < 20) {
+			call(stats, "GET /api/users", get(token, "/api/users?size=%d&page=%d", PAGE_SIZE, random.nextInt(pages(users))));
+		} else if (pick < 30) {
+			long after = dataset.userIds().get(random.nextInt(dataset.userIds().size()));
+			call(stats, "GET /api/users?after", get(token, "/api/users?size=%d&after=%d", PAGE_SIZE, after));
+		} else if (pick < 45) {
+			long id = dataset.userIds().get(random.nextInt(dataset.userIds().size()));
+			call(stats, "GET /api/users/{id}", get(token, "/api/users/%d", id));
+		} else if (pick < 65) {
+			call(stats, "GET /api/employees", get(token, "/api/employees?size=%d&page=%d", PAGE_SIZE, random.nextInt(pages(employees))));
+		} else if (pick < 75) {
+			String department = LoadTestSeeder.DEPARTMENTS.get(random.nextInt(LoadTestSeeder.DEPARTMENTS.size()));
+			call(stats, "GET /api/employees/search", get(token, "/api/employees/search?size=%d&department=%s&minSalary=%d",
+					PAGE_SIZE, department.replace("&", "%26"), 30_000 + random.nextInt(150_000)));
+		} else if (pick < 85) {
+			call(stats, "GET /api/projects", get(token, "/api/projects?size=%d&page=%d", PAGE_SIZE, random.nextInt(pages(projects))));
+		} else if (pick < 95) {
+			call(stats, "GET /api/roles", get(token, "/api/roles?size=%d", PAGE_SIZE));
+		} else {
+			call(stats, "GET /api/employees/stats", get(token, "/api/employees/stats"));
+		}
+	}
+
+	// rewrites one synthetic role with a random slice of synthetic permissions, then pauses
+	private void editRolePermissions(LatencyStats stats, SplittableRandom random) throws Exception {
+		long roleId = dataset.syntheticRoleIds().get(random.nextInt(dataset.syntheticRoleIds().size()));
+		List<String> names = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			names.add(dataset.syntheticPermissions().get(random.nextInt(dataset.syntheticPermissions().size())));
+		}
+		String body = objectMapper.writeValueAsString(Map.of("permissions", names));
+
+		call(stats, "PUT /api/roles/{id}/permissions", HttpRequest.newBuilder(uri("/api/roles/%d/permissions", roleId))
+				.header("Authorization", "Bearer " + adminToken)
+				.header("Content-Type", "application/json")
+				.PUT(HttpRequest.BodyPublishers.ofString(body))
+				.build());
+		Thread.sleep(roleEditIntervalMs);
+	}
+
+	/* HTTP */
+
+	private void call(LatencyStats stats, String endpoint, HttpRequest request) throws InterruptedException {
+		long start = System.nanoTime();
+		int status;
+		try {
+			status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+		} catch (IOException e) {
+			status = 0;
+		}
+		stats.record(endpoint, status, start);
+	}
+
+	private String login(String username) throws Exception {
+		HttpResponse<String> response = http.send(loginRequest(username), HttpResponse.BodyHandlers.ofString());
+		assertThat(response.statusCode()).as("login of %s", username).isEqualTo(200);
+		JsonNode body = objectMapper.readTree(response.body());
+		return body.get("token").asText();
+	}
+
+	private HttpRequest loginRequest(String username) {
+		String body = "{\"username\":\"" + username + "\",\"password\":\"" + LoadTestSeeder.PASSWORD + "\"}";
+		return HttpRequest.newBuilder(uri("/api/auth/login"))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body))
+				.build();
+	}
+
+	private HttpRequest get(String token, String path, Object... args) {
+		return HttpRequest.newBuilder(uri(path, args))
+				.header("Authorization", "Bearer " + token)
+				.GET()
+				.build();
+	}
+
+	private URI uri(String path, Object... args) {
+		return URI.create("http://localhost:" + port + String.format(path, args));
+	}
+
+	private static int pages(int rows) {
+		return Math.max(1, (rows + PAGE_SIZE - 1) / PAGE_SIZE);
+	}
+
+	/* Report */
+
+	private void write(Map<String, Object> report) throws IOException {
+		Path parent = reportPath.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		objectMapper.copy()
+				.enable(SerializationFeature.INDENT_OUTPUT)
+				.writeValue(reportPath.toFile(), report);
+		System.out.println("Load test report written to " + reportPath.toAbsolutePath());
+	}
+}
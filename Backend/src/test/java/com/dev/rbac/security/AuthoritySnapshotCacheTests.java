@@ -0,0 +1,122 @@
+package com.dev.rbac.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuthoritySnapshotCacheTests {
+
+	private final AtomicInteger loads = new AtomicInteger();
+	private final CountDownLatch loading = new CountDownLatch(1);
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final ExecutorService callers = Executors.newFixedThreadPool(8);
+
+	@AfterEach
+	void shutdown() {
+		callers.shutdownNow();
+	}
+
+	@Test
+	void concurrentMissesOnOneUserShareASingleLoad() throws Exception {
+		AuthoritySnapshotCache cache = new AuthoritySnapshotCache(blockingLoader(), new PermissionIndex(), 100, 5000);
+
+		List<Future<AuthoritySnapshot>> snapshots = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			snapshots.add(callers.submit(() -> cache.get("alice")));
+		}
+		assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+		release.countDown();
+
+		AuthoritySnapshot first = snapshots.get(0).get(5, TimeUnit.SECONDS);
+		for (Future<AuthoritySnapshot> snapshot : snapshots) {
+			assertThat(snapshot.get(5, TimeUnit.SECONDS)).isSameAs(first);
+		}
+		assertThat(loads).hasValue(1);
+	}
+
+	@Test
+	void loadOverlappingAnInvalidationIsNotKept() throws Exception {
+		AuthoritySnapshotCache cache = new AuthoritySnapshotCache(blockingLoader(), new PermissionIndex(), 100, 5000);
+
+		Future<AuthoritySnapshot> stale = callers.submit(() -> cache.get("alice"));
+		assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+		cache.onAuthorizationChanged(AuthorizationChangedEvent.of("alice"));
+		release.countDown();
+		stale.get(5, TimeUnit.SECONDS);
+
+		cache.get("alice");
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void failedLoadsAreRethrownAndNotCached() {
+		UserDetailsService missing = username -> {
+			loads.incrementAndGet();
+			throw new UsernameNotFoundException("User not found");
+		};
+		AuthoritySnapshotCache cache = new AuthoritySnapshotCache(missing, new PermissionIndex(), 100, 5000);
+
+		assertThatThrownBy(() -> cache.get("ghost")).isInstanceOf(UsernameNotFoundException.class);
+		assertThatThrownBy(() -> cache.get("ghost")).isInstanceOf(UsernameNotFoundException.class);
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void bulkLookupLoadsMissesTogetherAndRemembersUnknownNames() {
+		List<Set<String>> bulkLoads = new ArrayList<>();
+		Set<String> existing = new HashSet<>(Set.of("alice", "bob"));
+		Function<Set<String>, List<UserDetails>> bulkLoader = names -> {
+			bulkLoads.add(Set.copyOf(names));
+			return names.stream().filter(existing::contains).map(AuthoritySnapshotCacheTests::user).toList();
+		};
+		AuthoritySnapshotCache cache = new AuthoritySnapshotCache(blockingLoader(), new PermissionIndex(), 100, 60000);
+
+		assertThat(cache.getAll(List.of("alice", "bob", "ghost"), bulkLoader)).containsOnlyKeys("alice", "bob");
+		assertThat(cache.getAll(List.of("alice", "bob", "ghost"), bulkLoader)).containsOnlyKeys("alice", "bob");
+		assertThat(bulkLoads).containsExactly(Set.of("alice", "bob", "ghost"));
+
+		// the name now exists and its creation was published
+		existing.add("ghost");
+		cache.onAuthorizationChanged(AuthorizationChangedEvent.of("ghost"));
+		assertThat(cache.getAll(List.of("alice", "ghost"), bulkLoader)).containsOnlyKeys("alice", "ghost");
+		assertThat(bulkLoads).last().isEqualTo(Set.of("ghost"));
+		assertThat(loads).hasValue(0);
+	}
+
+	// the first load waits for release, later loads return at once
+	private UserDetailsService blockingLoader() {
+		return username -> {
+			if (loads.incrementAndGet() == 1) {
+				loading.countDown();
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return user(username);
+		};
+	}
+
+	private static UserDetails user(String username) {
+		return User.withUsername(username).password("x").authorities("ROLE_USER").build();
+	}
+}
@@ -0,0 +1,48 @@
+package com.dev.rbac.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthorizationEpochsTests {
+
+	private static final Instant BOOT = Instant.parse("2026-01-01T00:00:00Z");
+
+	private final JwtService jwtService = new JwtService("ThisIsAVeryStrongSecretKeyForJwtToken123456", 86_400_000L);
+
+	@Test
+	void tokenRevokedByABumpStaysRevokedAfterRestart() {
+		AuthorizationEpochs firstBoot = new AuthorizationEpochs(Clock.fixed(BOOT, ZoneOffset.UTC));
+		VerifiedToken revoked = issue(firstBoot, "alice");
+		firstBoot.onAuthorizationChanged(AuthorizationChangedEvent.of("alice"));
+		VerifiedToken reissued = issue(firstBoot, "alice");
+
+		assertThat(firstBoot.isCurrent("alice", revoked.epoch())).isFalse();
+		assertThat(firstBoot.isCurrent("alice", reissued.epoch())).isTrue();
+
+		AuthorizationEpochs secondBoot = new AuthorizationEpochs(Clock.fixed(BOOT.plus(Duration.ofSeconds(1)), ZoneOffset.UTC));
+		assertThat(secondBoot.isCurrent("alice", revoked.epoch())).isFalse();
+		assertThat(secondBoot.isCurrent("alice", reissued.epoch())).isFalse();
+		assertThat(secondBoot.isCurrent("alice", issue(secondBoot, "alice").epoch())).isTrue();
+	}
+
+	@Test
+	void bumpsAreIndependentPerUser() {
+		AuthorizationEpochs epochs = new AuthorizationEpochs(Clock.fixed(BOOT, ZoneOffset.UTC));
+		long bob = epochs.current("bob");
+		epochs.onAuthorizationChanged(AuthorizationChangedEvent.of("alice"));
+
+		assertThat(epochs.current("bob")).isEqualTo(bob);
+		assertThat(epochs.current("alice")).isEqualTo(bob + 1);
+	}
+
+	private VerifiedToken issue(AuthorizationEpochs epochs, String username) {
+		return jwtService.verify(jwtService.generateToken(username, List.of("USER"), List.of(), epochs.current(username)));
+	}
+}
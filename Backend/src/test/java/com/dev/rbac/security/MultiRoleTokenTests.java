@@ -0,0 +1,112 @@
+package com.dev.rbac.security;
+
+import com.dev.rbac.model.Role;
+import com.dev.rbac.model.User;
+import com.dev.rbac.repository.RoleRepository;
+import com.dev.rbac.repository.UserRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A user holding AUDITOR and then ADMIN logs in and calls an ADMIN-only
+ * endpoint, once per authorization mode. Both modes must grant every role,
+ * not just the first one in the token.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "password.bcrypt.strength=4")
+class MultiRoleTokenTests {
+
+	@Nested
+	@TestPropertySource(properties = {
+			"jwt.stateless=false",
+			"spring.datasource.url=jdbc:h2:mem:rbac_snapshot_mode;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+	})
+	class SnapshotMode extends Scenario {
+	}
+
+	@Nested
+	@TestPropertySource(properties = {
+			"jwt.stateless=true",
+			"spring.datasource.url=jdbc:h2:mem:rbac_stateless_mode;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+	})
+	class StatelessMode extends Scenario {
+	}
+
+	abstract static class Scenario {
+
+		@Autowired
+		private MockMvc mockMvc;
+
+		@Autowired
+		private UserRepository userRepository;
+
+		@Autowired
+		private RoleRepository roleRepository;
+
+		@Autowired
+		private PasswordEncoder passwordEncoder;
+
+		@BeforeEach
+		void seed() {
+			if (userRepository.findByUsername("auditor").isPresent()) {
+				return;
+			}
+
+			// saved in this order, so AUDITOR is the first role of the login query
+			List<Role> roles = List.of(role("AUDITOR"), role("ADMIN"));
+
+			User user = new User();
+			user.setUsername("auditor");
+			user.setEmail("auditor@rbac.local");
+			user.setPassword(passwordEncoder.encode("secret"));
+			user.setRoles(new LinkedHashSet<>(roles));
+			userRepository.save(user);
+		}
+
+		@Test
+		void everyRoleOfTheTokenIsGranted() throws Exception {
+			MvcResult login = mockMvc.perform(post("/api/auth/login")
+							.contentType(MediaType.APPLICATION_JSON)
+							.content("{\"username\":\"auditor\",\"password\":\"secret\"}"))
+					.andReturn();
+			String token = JsonPath.read(
+					mockMvc.perform(asyncDispatch(login))
+							.andExpect(status().isOk())
+							.andExpect(jsonPath("$.roles", contains("AUDITOR", "ADMIN")))
+							.andReturn().getResponse().getContentAsString(),
+					"$.token");
+
+			mockMvc.perform(get("/api/metrics/auth-cache").header("Authorization", "Bearer " + token))
+					.andExpect(status().isOk());
+		}
+
+		private Role role(String name) {
+			Role role = new Role();
+			role.setName(name);
+			return roleRepository.save(role);
+		}
+	}
+}
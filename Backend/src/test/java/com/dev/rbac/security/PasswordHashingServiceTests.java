@@ -0,0 +1,34 @@
+package com.dev.rbac.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordHashingServiceTests {
+
+	private final PasswordHashingService service =
+			new PasswordHashingService(new BCryptPasswordEncoder(5), 5, 2, 10);
+
+	@AfterEach
+	void shutdown() {
+		service.shutdown();
+	}
+
+	@Test
+	void rehashWhenTheStoredCostDiffersInEitherDirection() {
+		assertThat(service.needsRehash(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+		assertThat(service.needsRehash(new BCryptPasswordEncoder(6).encode("secret"))).isTrue();
+		assertThat(service.needsRehash(new BCryptPasswordEncoder(5).encode("secret"))).isFalse();
+		assertThat(service.needsRehash("$2b$12$" + "x".repeat(53))).isTrue();
+	}
+
+	@Test
+	void nonBcryptValuesAreLeftAlone() {
+		assertThat(service.needsRehash(null)).isFalse();
+		assertThat(service.needsRehash("")).isFalse();
+		assertThat(service.needsRehash("plaintext")).isFalse();
+		assertThat(service.needsRehash("$2a$xx$abc")).isFalse();
+	}
+}
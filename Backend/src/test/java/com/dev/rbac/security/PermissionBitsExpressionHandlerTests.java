@@ -0,0 +1,72 @@
+package com.dev.rbac.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PermissionBitsExpressionHandlerTests {
+
+	private final PermissionIndex index = new PermissionIndex();
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final PermissionBitsExpressionHandler handler =
+			new PermissionBitsExpressionHandler(index, new SecurityMetrics(registry));
+
+	@Test
+	void authoritiesAreBitTestsOnAuthorizedUsers() throws Exception {
+		PermissionBits bits = PermissionBits.of(index.register("ROLE_ADMIN"), index.register("USER_READ"));
+		index.register("USER_DELETE");
+		AuthorizedUser principal = new AuthorizedUser("alice", "", true, Set.of(), bits);
+		Authentication authentication = new TestingAuthenticationToken(principal, null, List.of());
+
+		assertThat(evaluate("hasAuthority('USER_READ')", authentication)).isTrue();
+		assertThat(evaluate("hasAuthority('USER_DELETE')", authentication)).isFalse();
+		assertThat(evaluate("hasAuthority('NEVER_REGISTERED')", authentication)).isFalse();
+		assertThat(evaluate("hasAnyAuthority('USER_DELETE', 'USER_READ')", authentication)).isTrue();
+		assertThat(evaluate("hasRole('ADMIN')", authentication)).isTrue();
+		assertThat(evaluate("hasAnyRole('AUDITOR', 'ROLE_ADMIN')", authentication)).isTrue();
+		assertThat(evaluate("hasRole('AUDITOR')", authentication)).isFalse();
+		assertThat(evaluate("hasAuthority('USER_READ') and isAuthenticated()", authentication)).isTrue();
+	}
+
+	@Test
+	void otherPrincipalsFallThroughToStandardChecks() throws Exception {
+		User principal = (User) User.withUsername("bob").password("").authorities("USER_READ", "ROLE_ADMIN").build();
+		Authentication authentication =
+				new TestingAuthenticationToken(principal, null, principal.getAuthorities().stream().toList());
+
+		assertThat(evaluate("hasAuthority('USER_READ')", authentication)).isTrue();
+		assertThat(evaluate("hasAuthority('USER_DELETE')", authentication)).isFalse();
+		assertThat(evaluate("hasRole('ADMIN')", authentication)).isTrue();
+	}
+
+	@Test
+	void decisionsAreTimedPerAuthorityAndOutcome() throws Exception {
+		AuthorizedUser principal = new AuthorizedUser("alice", "", true, Set.of(), PermissionBits.of(index.register("USER_READ")));
+		Authentication authentication = new TestingAuthenticationToken(principal, null, List.of());
+
+		evaluate("hasAuthority('USER_READ')", authentication);
+		evaluate("hasAuthority('USER_READ')", authentication);
+		evaluate("hasAuthority('USER_DELETE')", authentication);
+
+		assertThat(registry.get("rbac.authz.decision").tags("authority", "USER_READ", "decision", "granted").timer().count())
+				.isEqualTo(2);
+		assertThat(registry.get("rbac.authz.decision").tags("authority", "USER_DELETE", "decision", "denied").timer().count())
+				.isEqualTo(1);
+	}
+
+	private boolean evaluate(String expression, Authentication authentication) throws Exception {
+		SimpleMethodInvocation invocation =
+				new SimpleMethodInvocation(this, Object.class.getMethod("toString"));
+		EvaluationContext context = handler.createEvaluationContext(() -> authentication, invocation);
+		return handler.getExpressionParser().parseExpression(expression).getValue(context, Boolean.class);
+	}
+}
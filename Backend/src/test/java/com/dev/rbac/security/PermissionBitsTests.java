@@ -0,0 +1,70 @@
+package com.dev.rbac.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PermissionBitsTests {
+
+	@Test
+	void setBitsAreExactlyTheGivenIndexes() {
+		PermissionBits bits = PermissionBits.of(0, 3, 63);
+
+		assertThat(bits.has(0)).isTrue();
+		assertThat(bits.has(3)).isTrue();
+		assertThat(bits.has(63)).isTrue();
+		assertThat(bits.has(1)).isFalse();
+		assertThat(bits.cardinality()).isEqualTo(3);
+		assertThat(indexes(bits)).containsExactly(0, 3, 63);
+	}
+
+	@Test
+	void unknownOrOutOfRangeIndexIsNotHeld() {
+		PermissionBits bits = PermissionBits.of(5);
+
+		assertThat(bits.has(-1)).isFalse();
+		assertThat(bits.has(64)).isFalse();
+		assertThat(bits.has(100_000)).isFalse();
+		assertThat(PermissionBits.EMPTY.has(0)).isFalse();
+	}
+
+	@Test
+	void moreThan64IndexesSpanSeveralWords() {
+		PermissionBits low = PermissionBits.of(1, 63);
+		PermissionBits high = PermissionBits.of(64, 130, 1000);
+		PermissionBits both = low.or(high);
+
+		assertThat(indexes(both)).containsExactly(1, 63, 64, 130, 1000);
+		assertThat(high.or(low).cardinality()).isEqualTo(5);
+		assertThat(both.has(65)).isFalse();
+		assertThat(low.has(64)).isFalse();
+	}
+
+	@Test
+	void indexAssignsDenseStableIndexes() {
+		PermissionIndex index = new PermissionIndex();
+		for (int i = 0; i < 100; i++) {
+			assertThat(index.register("PERMISSION_" + i)).isEqualTo(i);
+		}
+
+		assertThat(index.register("PERMISSION_70")).isEqualTo(70);
+		assertThat(index.indexOf("PERMISSION_99")).isEqualTo(99);
+		assertThat(index.indexOf("UNKNOWN")).isEqualTo(-1);
+		assertThat(index.size()).isEqualTo(100);
+
+		PermissionBits bits = PermissionBits.of(index.indexOf("PERMISSION_2"), index.indexOf("PERMISSION_90"));
+		assertThat(index.authorities(bits))
+				.extracting(authority -> authority.getAuthority())
+				.containsExactlyInAnyOrder("PERMISSION_2", "PERMISSION_90");
+		assertThat(bits.has(index.indexOf("UNKNOWN"))).isFalse();
+	}
+
+	private static List<Integer> indexes(PermissionBits bits) {
+		List<Integer> indexes = new ArrayList<>();
+		bits.forEach(indexes::add);
+		return indexes;
+	}
+}
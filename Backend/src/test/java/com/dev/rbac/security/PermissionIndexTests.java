@@ -0,0 +1,76 @@
+package com.dev.rbac.security;
+
+import com.dev.rbac.model.Permission;
+import com.dev.rbac.model.Role;
+import com.dev.rbac.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PermissionIndexTests {
+
+	private final PermissionIndex index = new PermissionIndex();
+
+	@Test
+	void userBitsAreTheUnionOfItsRoles() {
+		User user = user(role(1L, "READER", "USER_READ"), role(2L, "WRITER", "USER_READ", "USER_UPDATE"));
+
+		PermissionBits bits = index.compile(user);
+
+		assertThat(index.authorities(bits))
+				.extracting(authority -> authority.getAuthority())
+				.containsExactlyInAnyOrder("ROLE_READER", "ROLE_WRITER", "USER_READ", "USER_UPDATE");
+	}
+
+	@Test
+	void roleIsCompiledOnceUntilAChange() {
+		Role role = role(1L, "READER", "USER_READ");
+		index.compile(user(role));
+
+		// stands in for a committed edit whose event has not been handled yet
+		role.getPermissions().add(permission("USER_DELETE"));
+		assertThat(index.compile(user(role)).has(index.indexOf("USER_DELETE"))).isFalse();
+
+		index.onAuthorizationChanged(AuthorizationChangedEvent.of("alice"));
+		assertThat(index.compile(user(role)).has(index.indexOf("USER_DELETE"))).isTrue();
+	}
+
+	@Test
+	void loadThatOverlapsAChangeIsNotKept() {
+		Role role = role(1L, "READER", "USER_READ");
+		long seen = index.roleChanges();
+		index.onAuthorizationChanged(AuthorizationChangedEvent.of("alice"));
+		index.compile(user(role), seen);
+
+		role.getPermissions().add(permission("USER_DELETE"));
+		assertThat(index.compile(user(role)).has(index.indexOf("USER_DELETE"))).isTrue();
+	}
+
+	/* Helpers */
+
+	private static User user(Role... roles) {
+		User user = new User();
+		user.setUsername("alice");
+		user.setRoles(new HashSet<>(Set.of(roles)));
+		return user;
+	}
+
+	private static Role role(Long id, String name, String... permissions) {
+		Role role = new Role();
+		role.setId(id);
+		role.setName(name);
+		for (String permission : permissions) {
+			role.getPermissions().add(permission(permission));
+		}
+		return role;
+	}
+
+	private static Permission permission(String name) {
+		Permission permission = new Permission();
+		permission.setName(name);
+		return permission;
+	}
+}
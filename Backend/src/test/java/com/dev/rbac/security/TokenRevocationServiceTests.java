@@ -0,0 +1,121 @@
+package com.dev.rbac.security;
+
+import com.dev.rbac.model.RevokedToken;
+import com.dev.rbac.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationServiceTests {
+
+	// jti -> expires_at, stands in for the revoked_tokens table
+	private final Map<String, LocalDateTime> rows = new HashMap<>();
+	private final RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+
+	@BeforeEach
+	void table() {
+		when(repository.existsByJti(anyString())).thenAnswer(call -> rows.containsKey(call.<String>getArgument(0)));
+		when(repository.save(any(RevokedToken.class))).thenAnswer(call -> {
+			RevokedToken token = call.getArgument(0);
+			rows.put(token.getJti(), token.getExpiresAt());
+			return token;
+		});
+		when(repository.findActiveJtis(any())).thenAnswer(call -> {
+			LocalDateTime now = call.getArgument(0);
+			return rows.entrySet().stream().filter(row -> row.getValue().isAfter(now)).map(Map.Entry::getKey).toList();
+		});
+		when(repository.deleteExpired(any())).thenAnswer(call -> {
+			LocalDateTime now = call.getArgument(0);
+			int before = rows.size();
+			rows.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+			return before - rows.size();
+		});
+	}
+
+	@Test
+	void revokedTokenIsRejectedAndOthersNeverReachTheTable() {
+		TokenRevocationService service = new TokenRevocationService(repository, 100_000, 0.01);
+		VerifiedToken revoked = token("jti-revoked", 60);
+		service.revoke(revoked);
+		clearInvocations(repository);
+
+		assertThat(service.isRevoked(revoked)).isTrue();
+		assertThat(service.isRevoked(token("jti-live", 60))).isFalse();
+		verify(repository).existsByJti("jti-revoked");
+		verify(repository, never()).existsByJti("jti-live");
+	}
+
+	@Test
+	void falsePositiveFallsBackToTheExactSet() {
+		// a 64-bit filter holding 20 jtis, so plenty of strangers look revoked
+		TokenRevocationService service = new TokenRevocationService(repository, 1, 0.5);
+		BloomFilter sameBits = new BloomFilter(1, 0.5);
+		for (int i = 0; i < 20; i++) {
+			service.revoke(token("jti-" + i, 60));
+			sameBits.put("jti-" + i);
+		}
+		String stranger = falsePositive(sameBits);
+		clearInvocations(repository);
+
+		assertThat(service.isRevoked(token(stranger, 60))).isFalse();
+		verify(repository).existsByJti(stranger);
+	}
+
+	@Test
+	void pruneDropsExpiredJtisFromTableAndFilter() {
+		TokenRevocationService service = new TokenRevocationService(repository, 100_000, 0.01);
+		VerifiedToken expired = token("jti-expired", -60);
+		VerifiedToken active = token("jti-active", 60);
+		service.revoke(expired);
+		service.revoke(active);
+
+		service.pruneExpired();
+		clearInvocations(repository);
+
+		assertThat(rows).containsOnlyKeys("jti-active");
+		assertThat(service.isRevoked(expired)).isFalse();
+		assertThat(service.isRevoked(active)).isTrue();
+		verify(repository, never()).existsByJti("jti-expired");
+	}
+
+	@Test
+	void bloomFilterHasNoFalseNegatives() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filter.put("jti-" + i);
+		}
+		for (int i = 0; i < 10_000; i++) {
+			assertThat(filter.mightContain("jti-" + i)).isTrue();
+		}
+	}
+
+	/* Helpers */
+
+	private static VerifiedToken token(String jti, long expiresInSeconds) {
+		Date expiration = Date.from(LocalDateTime.now().plusSeconds(expiresInSeconds).atZone(ZoneId.systemDefault()).toInstant());
+		return new VerifiedToken("alice", expiration, List.of("USER"), List.of(), 0, jti);
+	}
+
+	private static String falsePositive(BloomFilter filter) {
+		for (int i = 0; ; i++) {
+			if (filter.mightContain("stranger-" + i)) {
+				return "stranger-" + i;
+			}
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package com.dev.rbac.service;
+
+import com.dev.rbac.model.Configuration;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two writes within one updated_at second, and contents whose hashCode
+ * collides, must still be told apart.
+ */
+class ConfigurationSnapshotTests {
+
+	private static final LocalDateTime SAME_SECOND = LocalDateTime.of(2026, 1, 1, 12, 0, 0);
+
+	@Test
+	void updateWithinTheSameSecondIsNotCurrent() {
+		ConfigurationSnapshot snapshot = ConfigurationSnapshot.of(List.of(row("mode", "Aa", 0L)));
+
+		assertThat(snapshot.isCurrent(SAME_SECOND, 1, 1L, 0L)).isTrue();
+		assertThat(snapshot.isCurrent(SAME_SECOND, 1, 1L, 1L)).isFalse();
+		// deleted and recreated under a new id
+		assertThat(snapshot.isCurrent(SAME_SECOND, 1, 2L, 0L)).isFalse();
+	}
+
+	@Test
+	void digestsTellApartValuesWithEqualHashCodes() {
+		ConfigurationSnapshot before = ConfigurationSnapshot.of(List.of(row("mode", "Aa", 0L)));
+		ConfigurationSnapshot after = ConfigurationSnapshot.of(List.of(row("mode", "BB", 0L)));
+
+		assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+		assertThat(after.contentDigest()).isNotEqualTo(before.contentDigest());
+		assertThat(after.entryDigest("mode")).isNotEqualTo(before.entryDigest("mode"));
+		assertThat(ConfigurationSnapshot.of(List.of(row("mode", "Aa", 0L))).contentDigest()).isEqualTo(before.contentDigest());
+	}
+
+	private static Configuration row(String key, String value, Long revision) {
+		Configuration row = new Configuration();
+		row.setId(1L);
+		row.setKey(key);
+		row.setValue(value);
+		row.setUpdatedAt(SAME_SECOND);
+		row.setRevision(revision);
+		return row;
+	}
+}
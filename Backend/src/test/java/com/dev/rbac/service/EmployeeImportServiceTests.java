@@ -0,0 +1,129 @@
+package com.dev.rbac.service;
+
+import com.dev.rbac.model.Employee;
+import com.dev.rbac.repository.EmployeeRepository;
+import com.dev.rbac.service.EmployeeImportService.Format;
+import com.dev.rbac.service.EmployeeImportService.ImportResult;
+import com.dev.rbac.service.EmployeeImportService.RowError;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Imports against a real schema with a chunk size of three, so uploads of a
+ * few lines already cross chunk boundaries.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+		"employee.import.chunk-size=3",
+		"spring.datasource.url=jdbc:h2:mem:rbac_employee_import;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+})
+class EmployeeImportServiceTests {
+
+	private static final String HEADER = "name,email,department,salary\n";
+
+	@Autowired
+	private EmployeeImportService importService;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@BeforeEach
+	void clear() {
+		employeeRepository.deleteAll();
+	}
+
+	@Test
+	void csvFieldsKeepQuotedCommasAndEscapedQuotes() throws Exception {
+		ImportResult result = importCsv("\"Doe, Jane\",jane@corp.test,\"R&D \"\"Labs\"\"\",1200.5\n");
+
+		assertThat(result.imported).isEqualTo(1);
+		assertThat(result.errors).isEmpty();
+		Employee employee = employeeRepository.findByEmail("jane@corp.test").orElseThrow();
+		assertThat(employee.getName()).isEqualTo("Doe, Jane");
+		assertThat(employee.getDepartment()).isEqualTo("R&D \"Labs\"");
+		assertThat(employee.getSalary()).isEqualTo(1200.5);
+	}
+
+	@Test
+	void duplicatesInTheFileAndInTheDatabaseAreReportedPerLine() throws Exception {
+		importCsv("Existing,taken@corp.test,Ops,1\n");
+
+		ImportResult result = importCsv(
+				"A,a@corp.test,Ops,1\n" +
+				"B,taken@corp.test,Ops,1\n" +
+				"C,a@corp.test,Ops,1\n");
+
+		assertThat(result.total).isEqualTo(3);
+		assertThat(result.imported).isEqualTo(1);
+		// line 1 is the header
+		assertThat(result.errors)
+				.extracting(RowError::line, RowError::email, RowError::message)
+				.containsExactly(
+						tuple(3, "taken@corp.test", "Employee email already exists"),
+						tuple(4, "a@corp.test", "Duplicate email in upload"));
+		assertThat(employeeRepository.count()).isEqualTo(2);
+	}
+
+	@Test
+	void uploadsSpanningSeveralChunksImportEveryRow() throws Exception {
+		// two full chunks and a partial one
+		ImportResult result = importCsv(rows(1, 7));
+
+		assertThat(result.total).isEqualTo(7);
+		assertThat(result.imported).isEqualTo(7);
+		assertThat(result.errors).isEmpty();
+		assertThat(employeeRepository.count()).isEqualTo(7);
+	}
+
+	@Test
+	void duplicateInALaterChunkIsCaughtByTheDatabaseCheck() throws Exception {
+		// rows 1-3 form the first chunk and commit before row 5 is checked
+		ImportResult result = importCsv(rows(1, 4) + "Again,e2@corp.test,Ops,1\n" + rows(5, 6));
+
+		assertThat(result.imported).isEqualTo(6);
+		assertThat(result.errors)
+				.extracting(RowError::line, RowError::message)
+				.containsExactly(tuple(6, "Employee email already exists"));
+	}
+
+	@Test
+	void ndjsonRowsAndUnreadableLinesAreHandledIndependently() throws Exception {
+		String upload =
+				"{\"name\":\"A\",\"email\":\"a@corp.test\",\"department\":\"Ops\",\"salary\":1}\n" +
+				"{not json\n" +
+				"{\"name\":\"B\",\"email\":\"b@corp.test\"}\n";
+
+		ImportResult result = importService.importEmployees(stream(upload), Format.NDJSON);
+
+		assertThat(result.total).isEqualTo(3);
+		assertThat(result.imported).isEqualTo(2);
+		assertThat(result.errors).extracting(RowError::line).containsExactly(2);
+	}
+
+	private ImportResult importCsv(String rows) throws Exception {
+		return importService.importEmployees(stream(HEADER + rows), Format.CSV);
+	}
+
+	private static String rows(int from, int to) {
+		return IntStream.rangeClosed(from, to)
+				.mapToObj(i -> "Employee " + i + ",e" + i + "@corp.test,Ops," + i + "\n")
+				.collect(Collectors.joining());
+	}
+
+	private static ByteArrayInputStream stream(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,69 @@
+package com.dev.rbac.service;
+
+import com.dev.rbac.controller.EmployeeController.UpdateEmployeeRequest;
+import com.dev.rbac.dto.EmployeeSearchCriteria;
+import com.dev.rbac.model.Employee;
+import com.dev.rbac.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A search that counts while an employee write is still uncommitted must
+ * not keep its stale total once the write commits.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+		"employee.search.count-ttl-ms=600000",
+		"spring.datasource.url=jdbc:h2:mem:rbac_search_counts;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+})
+class EmployeeSearchCountsTests {
+
+	private static final EmployeeSearchCriteria OPS =
+			new EmployeeSearchCriteria("Ops", null, null, null, null, null, null, null, null);
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void countTakenBeforeCommitIsDroppedByTheCommit() {
+		Employee employee = new Employee();
+		employee.setName("Moving");
+		employee.setEmail("moving@corp.test");
+		employee.setDepartment("Ops");
+		employee = employeeService.createEmployee(employee);
+		assertThat(opsTotal()).isEqualTo(1);
+
+		Long id = employee.getId();
+		transactionTemplate.executeWithoutResult(status -> {
+			UpdateEmployeeRequest request = new UpdateEmployeeRequest();
+			request.setDepartment("Sales");
+			employeeService.updateEmployee(id, request);
+
+			// another request still sees the committed row and caches its total
+			assertThat(CompletableFuture.supplyAsync(this::opsTotal).join()).isEqualTo(1);
+		});
+
+		assertThat(opsTotal()).isZero();
+		assertThat(employeeRepository.count()).isEqualTo(1);
+	}
+
+	private long opsTotal() {
+		return employeeService.searchEmployees(OPS, PageRequest.of(0, 10), true).totalElements();
+	}
+}
@@ -0,0 +1,95 @@
+package com.dev.rbac.service;
+
+import com.dev.rbac.dto.PageResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PagingTests {
+
+	private static final List<Long> IDS = LongStream.rangeClosed(1, 10).boxed().toList();
+	private static final Set<String> SORTABLE = Set.of("id", "username");
+	private static final List<Long> IDS_DESCENDING = LongStream.rangeClosed(1, 10).map(id -> 11 - id).boxed().toList();
+
+	@Test
+	void idOrderedOffsetPageHandsOutACursorThatContinuesIt() {
+		PageResponse<Long> first = Paging.page(PageRequest.of(0, 3, Sort.by("id")), null, SORTABLE, this::offset, this::keyset, Function.identity());
+		assertThat(first.nextCursor()).isEqualTo("3");
+
+		PageResponse<Long> next = Paging.page(PageRequest.of(0, 3, Sort.by("id")), 3L, SORTABLE, this::offset, this::keyset, Function.identity());
+		assertThat(next.items()).containsExactly(4L, 5L, 6L);
+		assertThat(next.nextCursor()).isEqualTo("6");
+	}
+
+	@Test
+	void otherSortsGetNoCursor() {
+		Pageable byName = PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "username"));
+		Pageable byIdDescending = PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "id"));
+
+		assertThat(Paging.page(byName, null, SORTABLE, this::offset, this::keyset, Function.identity()).nextCursor()).isNull();
+		assertThat(Paging.page(byIdDescending, null, SORTABLE, this::offset, this::keyset, Function.identity()).nextCursor()).isNull();
+	}
+
+	@Test
+	void afterWithAnotherSortIsRejected() {
+		Pageable byName = PageRequest.of(0, 3, Sort.by("username"));
+
+		assertThatThrownBy(() -> Paging.page(byName, 7L, SORTABLE, this::offset, this::keyset, Function.identity()))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+	}
+
+	@Test
+	void sortOutsideTheAllowlistIsRejected() {
+		for (String property : List.of("password", "noSuchProperty")) {
+			Pageable pageable = PageRequest.of(0, 3, Sort.by("username").and(Sort.by(property)));
+
+			assertThatThrownBy(() -> Paging.page(pageable, null, SORTABLE, this::offset, this::keyset, Function.identity()))
+					.isInstanceOfSatisfying(ResponseStatusException.class,
+							e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+		}
+	}
+
+	@Test
+	void lastKeysetPageHasNoCursor() {
+		PageResponse<Long> last = Paging.page(PageRequest.of(0, 3, Sort.by("id")), 8L, SORTABLE, this::offset, this::keyset, Function.identity());
+
+		assertThat(last.items()).containsExactly(9L, 10L);
+		assertThat(last.nextCursor()).isNull();
+	}
+
+	@Test
+	void slicesNeverCarryACursor() {
+		PageResponse<Long> slice = PageResponse.ofSlice(new SliceImpl<>(List.of(1L, 2L), PageRequest.of(0, 2, Sort.by("id")), true), null);
+
+		assertThat(slice.nextCursor()).isNull();
+	}
+
+	/* Repository stand-ins over IDS */
+
+	private PageImpl<Long> offset(Pageable pageable) {
+		List<Long> sorted = pageable.getSort().stream().findFirst().filter(Sort.Order::isDescending).isPresent()
+				? IDS_DESCENDING
+				: IDS;
+		int from = (int) pageable.getOffset();
+		return new PageImpl<>(sorted.subList(from, Math.min(from + pageable.getPageSize(), sorted.size())), pageable, sorted.size());
+	}
+
+	private List<Long> keyset(Long after, Limit limit) {
+		return IDS.stream().filter(id -> id > after).limit(limit.max()).toList();
+	}
+}
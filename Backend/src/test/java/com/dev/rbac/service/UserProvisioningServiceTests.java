@@ -0,0 +1,120 @@
+package com.dev.rbac.service;
+
+import com.dev.rbac.controller.UserController.CreateUserRequest;
+import com.dev.rbac.repository.RoleRepository;
+import com.dev.rbac.repository.UserRepository;
+import com.dev.rbac.security.PasswordHashingService;
+import com.dev.rbac.service.UserProvisioningService.ProvisioningResult;
+import com.dev.rbac.service.UserProvisioningService.RecordError;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Provisioning in chunks of two while the hashing pool rejects work.
+ */
+class UserProvisioningServiceTests {
+
+	private static final ResponseStatusException SATURATED =
+			new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many concurrent logins, retry later");
+
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final PasswordHashingService hashing = mock(PasswordHashingService.class);
+
+	private final UserProvisioningService service = new UserProvisioningService(
+			userRepository,
+			mock(RoleRepository.class),
+			hashing,
+			mock(EntityManager.class),
+			new TransactionTemplate(mock(PlatformTransactionManager.class)),
+			mock(ApplicationEventPublisher.class),
+			mock(TableVersions.class),
+			2,
+			3,
+			1
+	);
+
+	@Test
+	void rejectedChunkIsRetriedUntilThePoolHasRoom() {
+		when(hashing.encodeAll(anyList()))
+				.thenThrow(SATURATED)
+				.thenThrow(SATURATED)
+				.thenReturn(List.of("h0", "h1"));
+
+		ProvisioningResult result = service.provision(requests(2));
+
+		assertThat(result.created).isEqualTo(2);
+		assertThat(result.errors).isEmpty();
+		verify(hashing, times(3)).encodeAll(anyList());
+	}
+
+	@Test
+	void chunkThatStaysRejectedIsReportedAndLaterChunksStillRun() {
+		when(hashing.encodeAll(anyList()))
+				.thenReturn(List.of("h0", "h1"))
+				.thenThrow(SATURATED, SATURATED, SATURATED)
+				.thenReturn(List.of("h4"));
+
+		ProvisioningResult result = service.provision(requests(5));
+
+		assertThat(result.requested).isEqualTo(5);
+		assertThat(result.created).isEqualTo(3);
+		assertThat(result.errors)
+				.extracting(RecordError::index)
+				.containsExactly(2, 3);
+		assertThat(result.errors)
+				.extracting(RecordError::message)
+				.containsOnly("Password hashing is overloaded, retry later");
+	}
+
+	@Test
+	void nullRecordsAreReportedByPositionAndTheRestIsCreated() {
+		when(hashing.encodeAll(anyList())).thenReturn(List.of("h0"), List.of("h2"));
+		List<CreateUserRequest> requests = new ArrayList<>(requests(3));
+		requests.set(1, null);
+
+		ProvisioningResult result = service.provision(requests);
+
+		assertThat(result.created).isEqualTo(2);
+		assertThat(result.errors)
+				.extracting(RecordError::index, RecordError::username, RecordError::message)
+				.containsExactly(tuple(1, null, "Record is empty"));
+	}
+
+	@Test
+	void otherHashingFailuresAreNotRetried() {
+		when(hashing.encodeAll(anyList()))
+				.thenThrow(new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR));
+
+		assertThatThrownBy(() -> service.provision(requests(2)))
+				.isInstanceOf(ResponseStatusException.class);
+		verify(hashing, times(1)).encodeAll(anyList());
+	}
+
+	private static List<CreateUserRequest> requests(int count) {
+		return IntStream.range(0, count).mapToObj(i -> {
+			CreateUserRequest request = new CreateUserRequest();
+			request.setUsername("user" + i);
+			request.setEmail("user" + i + "@corp.test");
+			request.setPassword("secret" + i);
+			return request;
+		}).toList();
+	}
+}
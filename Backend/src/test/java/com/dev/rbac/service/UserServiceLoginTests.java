@@ -0,0 +1,82 @@
+package com.dev.rbac.service;
+
+import com.dev.rbac.repository.ExportStreams;
+import com.dev.rbac.repository.RoleRepository;
+import com.dev.rbac.repository.UserRepository;
+import com.dev.rbac.repository.UserRepository.LoginRow;
+import com.dev.rbac.security.PasswordHashingService;
+import com.dev.rbac.security.PermissionIndex;
+import com.dev.rbac.security.SecurityMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceLoginTests {
+
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final PasswordHashingService hashing = new PasswordHashingService(new BCryptPasswordEncoder(5), 5, 1, 10);
+	private final ExecutorService continuations = Executors.newSingleThreadExecutor(task -> new Thread(task, "continuation"));
+
+	private final UserService userService = new UserService(
+			userRepository,
+			mock(ExportStreams.class),
+			mock(RoleRepository.class),
+			hashing,
+			mock(ApplicationEventPublisher.class),
+			new PermissionIndex(),
+			new ObjectMapper(),
+			new SecurityMetrics(new SimpleMeterRegistry()),
+			mock(TableVersions.class),
+			continuations
+	);
+
+	@AfterEach
+	void shutdown() {
+		hashing.shutdown();
+		continuations.shutdown();
+	}
+
+	@Test
+	void continuationsAndTheRehashWriteStayOffTheHashingPool() {
+		// stored at cost 4, configured 5, so a successful login rehashes
+		LoginRow row = row("alice", new BCryptPasswordEncoder(4).encode("secret"));
+		when(userRepository.findLoginRowsByUsername("alice")).thenReturn(List.of(row));
+		String[] writer = new String[1];
+		when(userRepository.updatePassword(eq("alice"), anyString())).thenAnswer(call -> {
+			writer[0] = Thread.currentThread().getName();
+			return 1;
+		});
+
+		CompletableFuture<String> completedOn = userService.authenticate("alice", "secret")
+				.thenApply(principal -> Thread.currentThread().getName());
+
+		assertThat(completedOn.join()).isIn("continuation", Thread.currentThread().getName());
+		verify(userRepository, timeout(5000)).updatePassword(eq("alice"), anyString());
+		assertThat(writer[0]).isEqualTo("continuation");
+	}
+
+	private static LoginRow row(String username, String hash) {
+		LoginRow row = mock(LoginRow.class);
+		when(row.getUsername()).thenReturn(username);
+		when(row.getPassword()).thenReturn(hash);
+		when(row.isEnabled()).thenReturn(true);
+		when(row.getRoleName()).thenReturn("USER");
+		return row;
+	}
+}
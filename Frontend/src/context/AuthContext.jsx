@@ -66,6 +66,14 @@ export const AuthProvider = ({ children }) => {
   };
 
   const logout = () => {
+    // Revoke the token server side, the local session is cleared either way
+    // The header is passed explicitly, the default one is deleted below
+    const token = localStorage.getItem('token');
+    if (token) {
+      axios.post(`${BaseURL}/api/auth/logout`, null, {
+        headers: { Authorization: `Bearer ${token}` }
+      }).catch(() => {});
+    }
     localStorage.removeItem('token');
     localStorage.removeItem('username');
     delete axios.defaults.headers.common['Authorization'];
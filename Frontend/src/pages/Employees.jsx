@@ -10,6 +10,7 @@ import {
     TableContainer,
     TableHead,
     TableRow,
+    TablePagination,
     Button,
     IconButton,
     Dialog,
@@ -32,6 +33,9 @@ const Employees = () => {
     const { hasPermission, baseURL } = useAuth();
 
     const [employees, setEmployees] = useState([]);
+    const [page, setPage] = useState(0);
+    const [rowsPerPage, setRowsPerPage] = useState(25);
+    const [totalElements, setTotalElements] = useState(0);
     const [openDialog, setOpenDialog] = useState(false);
     const [editingEmployee, setEditingEmployee] = useState(null);
     const [formData, setFormData] = useState({
@@ -49,15 +53,18 @@ const Employees = () => {
         if (hasPermission('EMPLOYEE_READ')) {
             fetchEmployees();
         }
-    }, []);
+    }, [page, rowsPerPage]);
 
     /* API ---- it call backend API to get all employees  */
 
     const fetchEmployees = async () => {
         try {
             setLoading(true);
-            const res = await axios.get(`${baseURL}/api/employees`);
-            setEmployees(res.data);
+            const res = await axios.get(`${baseURL}/api/employees`, {
+                params: { page, size: rowsPerPage }
+            });
+            setEmployees(res.data.items);
+            setTotalElements(res.data.totalElements);
         } catch (err) {
             console.error(err);
             setError('Failed to load employees');
@@ -241,6 +248,18 @@ const Employees = () => {
                             )}
                         </TableBody>
                     </Table>
+                    <TablePagination
+                        component="div"
+                        count={totalElements}
+                        page={page}
+                        rowsPerPage={rowsPerPage}
+                        rowsPerPageOptions={[10, 25, 50, 100]}
+                        onPageChange={(e, newPage) => setPage(newPage)}
+                        onRowsPerPageChange={(e) => {
+                            setRowsPerPage(parseInt(e.target.value, 10));
+                            setPage(0);
+                        }}
+                    />
                 </TableContainer>
             )}
 
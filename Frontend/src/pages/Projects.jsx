@@ -10,6 +10,7 @@ import {
     TableContainer,
     TableHead,
     TableRow,
+    TablePagination,
     Button,
     IconButton,
     Dialog,
@@ -32,6 +33,9 @@ const Projects = () => {
     const { hasPermission, baseURL } = useAuth();
 
     const [projects, setProjects] = useState([]);
+    const [page, setPage] = useState(0);
+    const [rowsPerPage, setRowsPerPage] = useState(25);
+    const [totalElements, setTotalElements] = useState(0);
     const [openDialog, setOpenDialog] = useState(false);
     const [editingProject, setEditingProject] = useState(null);
     const [formData, setFormData] = useState({
@@ -47,15 +51,18 @@ const Projects = () => {
 
     useEffect(() => {
         fetchProjects();
-    }, []);
+    }, [page, rowsPerPage]);
 
     /* -------------------- API ------------------*/
 
     const fetchProjects = async () => {
         try {
             setLoading(true);
-            const res = await axios.get(`${baseURL}/api/projects`);
-            setProjects(res.data);
+            const res = await axios.get(`${baseURL}/api/projects`, {
+                params: { page, size: rowsPerPage }
+            });
+            setProjects(res.data.items);
+            setTotalElements(res.data.totalElements);
         } catch (err) {
             console.error(err);
             setError('Failed to load projects');
@@ -236,6 +243,18 @@ const Projects = () => {
                             )}
                         </TableBody>
                     </Table>
+                    <TablePagination
+                        component="div"
+                        count={totalElements}
+                        page={page}
+                        rowsPerPage={rowsPerPage}
+                        rowsPerPageOptions={[10, 25, 50, 100]}
+                        onPageChange={(e, newPage) => setPage(newPage)}
+                        onRowsPerPageChange={(e) => {
+                            setRowsPerPage(parseInt(e.target.value, 10));
+                            setPage(0);
+                        }}
+                    />
                 </TableContainer>
             )}
 
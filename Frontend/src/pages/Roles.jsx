@@ -62,8 +62,8 @@ const Roles = () => {
 
   const fetchRoles = async () => {
     try {
-      const response = await axios.get(`${baseURL}/api/roles`);
-      setRoles(response.data);
+      const response = await axios.get(`${baseURL}/api/roles`, { params: { size: 500 } });
+      setRoles(response.data.items);
     } catch (error) {
       console.error('Error fetching roles:', error);
     }
@@ -71,8 +71,8 @@ const Roles = () => {
 
   const fetchPermissions = async () => {
     try {
-      const response = await axios.get(`${baseURL}/api/permissions`);
-      setPermissions(response.data);
+      const response = await axios.get(`${baseURL}/api/permissions`, { params: { size: 500 } });
+      setPermissions(response.data.items);
     } catch (error) {
       console.error('Error fetching permissions:', error);
     }
@@ -10,6 +10,7 @@ import {
   TableContainer,
   TableHead,
   TableRow,
+  TablePagination,
   Button,
   IconButton,
   Dialog,
@@ -30,6 +31,9 @@ import axios from 'axios';
 
 const Users = () => {
   const [users, setUsers] = useState([]);
+  const [page, setPage] = useState(0);
+  const [rowsPerPage, setRowsPerPage] = useState(25);
+  const [totalElements, setTotalElements] = useState(0);
   const [openDialog, setOpenDialog] = useState(false);
   const [editingUser, setEditingUser] = useState(null);
   const [formData, setFormData] = useState({
@@ -43,18 +47,24 @@ const Users = () => {
   const { hasPermission, baseURL } = useAuth();
 
   useEffect(() => {
-    if (hasPermission('USER_READ')) {
-      fetchUsers();
-    }
     if (hasPermission('ROLE_READ')) {
       fetchRoles();
     }
   }, []);
 
+  useEffect(() => {
+    if (hasPermission('USER_READ')) {
+      fetchUsers();
+    }
+  }, [page, rowsPerPage]);
+
   const fetchUsers = async () => {
     try {
-      const response = await axios.get(`${baseURL}/api/users`);
-      setUsers(response.data);
+      const response = await axios.get(`${baseURL}/api/users`, {
+        params: { page, size: rowsPerPage }
+      });
+      setUsers(response.data.items);
+      setTotalElements(response.data.totalElements);
     } catch (error) {
       console.error('Error fetching users:', error);
     }
@@ -62,8 +72,9 @@ const Users = () => {
 
   const fetchRoles = async () => {
     try {
-      const response = await axios.get(`${baseURL}/api/roles`);
-      setRoles(response.data);
+      // role pickers need every role, the list is small
+      const response = await axios.get(`${baseURL}/api/roles`, { params: { size: 500 } });
+      setRoles(response.data.items);
     } catch (error) {
       console.error('Error fetching roles:', error);
     }
@@ -194,6 +205,18 @@ const Users = () => {
             ))}
           </TableBody>
         </Table>
+        <TablePagination
+          component="div"
+          count={totalElements}
+          page={page}
+          rowsPerPage={rowsPerPage}
+          rowsPerPageOptions={[10, 25, 50, 100]}
+          onPageChange={(e, newPage) => setPage(newPage)}
+          onRowsPerPageChange={(e) => {
+            setRowsPerPage(parseInt(e.target.value, 10));
+            setPage(0);
+          }}
+        />
       </TableContainer>
 
       <Dialog open={openDialog} onClose={handleCloseDialog} maxWidth="sm" fullWidth>